@@ -20,6 +20,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cli.config.SpringCliUserConfig;
 import org.springframework.cli.git.SourceRepositoryService;
 import org.springframework.cli.merger.ProjectHandler;
+import org.springframework.cli.support.catalog.ProjectCatalogIndex;
+import org.springframework.cli.support.catalog.ProjectNameIndex;
 import org.springframework.cli.util.ProjectInfo;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.shell.command.annotation.Command;
@@ -34,12 +36,21 @@ public class BootCommands extends AbstractSpringCliCommands {
 
 	private final TerminalMessage terminalMessage;
 
-	@Autowired
+	private final ProjectNameIndex projectNameIndex;
+
 	public BootCommands(SpringCliUserConfig springCliUserConfig, SourceRepositoryService sourceRepositoryService,
 			TerminalMessage terminalMessage) {
+		this(springCliUserConfig, sourceRepositoryService, terminalMessage,
+				new ProjectNameIndex(ProjectCatalogIndex.uncached(sourceRepositoryService), null));
+	}
+
+	@Autowired
+	public BootCommands(SpringCliUserConfig springCliUserConfig, SourceRepositoryService sourceRepositoryService,
+			TerminalMessage terminalMessage, ProjectNameIndex projectNameIndex) {
 		this.springCliUserConfig = springCliUserConfig;
 		this.sourceRepositoryService = sourceRepositoryService;
 		this.terminalMessage = terminalMessage;
+		this.projectNameIndex = projectNameIndex;
 	}
 
 	@Command(command = "new", description = "Create a new Spring Boot project from an existing project.")
@@ -52,7 +63,8 @@ public class BootCommands extends AbstractSpringCliCommands {
 			@Option(longNames = "package-name", description = "Package name for the new project") String packageName,
 			@Option(description = "Path on which to run the command. Most of the time, you can not specify the path and use the default value, which is the current working directory.") String path) {
 		ProjectInfo projectInfo = new ProjectInfo(groupId, artifactId, version, name, description, packageName);
-		ProjectHandler handler = new ProjectHandler(springCliUserConfig, sourceRepositoryService, terminalMessage);
+		ProjectHandler handler = new ProjectHandler(springCliUserConfig, sourceRepositoryService, terminalMessage,
+				this.projectNameIndex);
 		handler.create(from, path, projectInfo);
 	}
 
@@ -60,7 +72,8 @@ public class BootCommands extends AbstractSpringCliCommands {
 	public void bootAdd(@Option(
 			description = "Add to the current project from an existing project by specifying the existing project's name or URL.") String from,
 			@Option(description = "Path") String path) {
-		ProjectHandler handler = new ProjectHandler(springCliUserConfig, sourceRepositoryService, terminalMessage);
+		ProjectHandler handler = new ProjectHandler(springCliUserConfig, sourceRepositoryService, terminalMessage,
+				this.projectNameIndex);
 		handler.add(from, path);
 	}
 
@@ -16,9 +16,6 @@
 
 package org.springframework.cli.command;
 
-import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -28,18 +25,17 @@ import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.config.SpringCliUserConfig;
-import org.springframework.cli.config.SpringCliUserConfig.CatalogRepositories;
 import org.springframework.cli.config.SpringCliUserConfig.CatalogRepository;
 import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
 import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalogs;
 import org.springframework.cli.git.SourceRepositoryService;
-import org.springframework.cli.support.configfile.YamlConfigFile;
+import org.springframework.cli.support.catalog.AvailableCatalogs;
+import org.springframework.cli.support.catalog.ProjectCatalogIndex;
+import org.springframework.cli.support.catalog.ProjectNameIndex;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.shell.command.annotation.Command;
 import org.springframework.shell.command.annotation.Option;
@@ -47,33 +43,40 @@ import org.springframework.shell.table.ArrayTableModel;
 import org.springframework.shell.table.BorderStyle;
 import org.springframework.shell.table.TableBuilder;
 import org.springframework.shell.table.TableModel;
-import org.springframework.util.FileSystemUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 @Command(command = "project catalog", group = "Project Catalog")
 public class ProjectCatalogCommands extends AbstractSpringCliCommands {
 
-	private static final Logger logger = LoggerFactory.getLogger(ProjectCatalogCommands.class);
-
 	private static final String PROJECT_CATALOG = "Project Catalog '";
 
 	private final SpringCliUserConfig springCliUserConfig;
 
-	private final SourceRepositoryService sourceRepositoryService;
-
 	private final TerminalMessage terminalMessage;
 
 	private final ObjectMapper objectMapper;
 
-	@Autowired
+	private final ProjectNameIndex projectNameIndex;
+
+	private final AvailableCatalogs availableCatalogs;
+
 	public ProjectCatalogCommands(SpringCliUserConfig springCliUserConfig,
 			SourceRepositoryService sourceRepositoryService, TerminalMessage terminalMessage,
 			ObjectMapper objectMapper) {
+		this(springCliUserConfig, terminalMessage, objectMapper,
+				new ProjectNameIndex(ProjectCatalogIndex.uncached(sourceRepositoryService), null),
+				AvailableCatalogs.uncached(sourceRepositoryService));
+	}
+
+	@Autowired
+	public ProjectCatalogCommands(SpringCliUserConfig springCliUserConfig, TerminalMessage terminalMessage,
+			ObjectMapper objectMapper, ProjectNameIndex projectNameIndex, AvailableCatalogs availableCatalogs) {
 		this.springCliUserConfig = springCliUserConfig;
-		this.sourceRepositoryService = sourceRepositoryService;
 		this.terminalMessage = terminalMessage;
 		this.objectMapper = objectMapper;
+		this.projectNameIndex = projectNameIndex;
+		this.availableCatalogs = availableCatalogs;
 	}
 
 	@Command(command = "available", description = "List available catalogs")
@@ -108,21 +111,7 @@ public class ProjectCatalogCommands extends AbstractSpringCliCommands {
 	}
 
 	private Collection<CatalogRepository> getCatalogRepositories() {
-		Path path = sourceRepositoryService
-			.retrieveRepositoryContents("https://github.com/rd-1-2022/available-catalog-repositories");
-		YamlConfigFile yamlConfigFile = new YamlConfigFile();
-		Collection<CatalogRepository> catalogRepositories = yamlConfigFile
-			.read(Paths.get(path.toString(), "catalog-repositories.yml"), CatalogRepositories.class)
-			.getCatalogRepositories();
-
-		// clean up temp files
-		try {
-			FileSystemUtils.deleteRecursively(path);
-		}
-		catch (IOException ex) {
-			logger.warn("Could not delete path " + path, ex);
-		}
-		return catalogRepositories;
+		return this.availableCatalogs.getCatalogRepositories();
 	}
 
 	@Command(command = "list", description = "List installed catalogs")
@@ -189,6 +178,13 @@ public class ProjectCatalogCommands extends AbstractSpringCliCommands {
 		}
 	}
 
+	@Command(command = "refresh", description = "Retrieve installed catalogs again and rebuild the project index")
+	public void catalogRefresh() {
+		List<ProjectCatalog> projectCatalogs = springCliUserConfig.getProjectCatalogs().getProjectCatalogs();
+		int count = this.projectNameIndex.rebuild(projectCatalogs);
+		this.terminalMessage.print("Indexed " + count + " projects from " + projectCatalogs.size() + " catalogs");
+	}
+
 	@Command(command = "remove", description = "Remove a project catalog")
 	public void catalogRemove(@Option(description = "Catalog name", required = true) String name) {
 		List<ProjectCatalog> originalProjectCatalogs = springCliUserConfig.getProjectCatalogs().getProjectCatalogs();
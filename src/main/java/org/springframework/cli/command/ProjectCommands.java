@@ -16,9 +16,6 @@
 
 package org.springframework.cli.command;
 
-import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -26,8 +23,6 @@ import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cli.config.SpringCliUserConfig;
@@ -35,7 +30,8 @@ import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
 import org.springframework.cli.config.SpringCliUserConfig.ProjectRepositories;
 import org.springframework.cli.config.SpringCliUserConfig.ProjectRepository;
 import org.springframework.cli.git.SourceRepositoryService;
-import org.springframework.cli.support.configfile.YamlConfigFile;
+import org.springframework.cli.support.catalog.ProjectCatalogIndex;
+import org.springframework.cli.support.catalog.ProjectCatalogIndex.CatalogProjects;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.shell.command.annotation.Command;
 import org.springframework.shell.command.annotation.Option;
@@ -43,31 +39,33 @@ import org.springframework.shell.table.ArrayTableModel;
 import org.springframework.shell.table.BorderStyle;
 import org.springframework.shell.table.TableBuilder;
 import org.springframework.shell.table.TableModel;
-import org.springframework.util.FileSystemUtils;
 import org.springframework.util.ObjectUtils;
 
 @Command(command = "project", group = "Project")
 public class ProjectCommands {
 
-	private static final Logger logger = LoggerFactory.getLogger(ProjectCommands.class);
-
 	private static final String PROJECT = "Project '";
 
 	private final SpringCliUserConfig upCliUserConfig;
 
-	private final SourceRepositoryService sourceRepositoryService;
-
 	private final TerminalMessage terminalMessage;
 
 	private final ObjectMapper objectMapper;
 
-	@Autowired
+	private final ProjectCatalogIndex projectCatalogIndex;
+
 	public ProjectCommands(SpringCliUserConfig upCliUserConfig, SourceRepositoryService sourceRepositoryService,
 			TerminalMessage terminalMessage, ObjectMapper objectMapper) {
+		this(upCliUserConfig, terminalMessage, objectMapper, ProjectCatalogIndex.uncached(sourceRepositoryService));
+	}
+
+	@Autowired
+	public ProjectCommands(SpringCliUserConfig upCliUserConfig, TerminalMessage terminalMessage,
+			ObjectMapper objectMapper, ProjectCatalogIndex projectCatalogIndex) {
 		this.upCliUserConfig = upCliUserConfig;
-		this.sourceRepositoryService = sourceRepositoryService;
 		this.terminalMessage = terminalMessage;
 		this.objectMapper = objectMapper;
+		this.projectCatalogIndex = projectCatalogIndex;
 	}
 
 	@Command(command = "add", description = "Add a project to use with the 'boot new' and 'boot add' commands")
@@ -99,22 +97,10 @@ public class ProjectCommands {
 		// List projects that are contained in catalogs that the user had added using the
 		// `project-catalog add` command
 		List<ProjectCatalog> projectCatalogs = upCliUserConfig.getProjectCatalogs().getProjectCatalogs();
-		for (ProjectCatalog projectCatalog : projectCatalogs) {
-			String url = projectCatalog.getUrl();
-			Path path = sourceRepositoryService.retrieveRepositoryContents(url);
-			YamlConfigFile yamlConfigFile = new YamlConfigFile();
-			for (ProjectRepository pr : yamlConfigFile
-				.read(Paths.get(path.toString(), "project-catalog.yml"), ProjectRepositories.class)
-				.getProjectRepositories()) {
+		for (CatalogProjects catalogProjects : this.projectCatalogIndex.getProjects(projectCatalogs)) {
+			for (ProjectRepository pr : catalogProjects.projectRepositories()) {
 				projectRepositories.add(new ProjectRepositoryData(pr.getName(), pr.getUrl(), pr.getDescription(),
-						pr.getTags(), projectCatalog.getName()));
-			}
-			// clean up temp files
-			try {
-				FileSystemUtils.deleteRecursively(path);
-			}
-			catch (IOException ex) {
-				logger.warn("Could not delete path " + path, ex);
+						pr.getTags(), catalogProjects.projectCatalog().getName()));
 			}
 		}
 
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.config;
+
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cli.initializr.InitializrClientCache;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Loads initializr metadata in the background when an interactive shell starts, so
+ * that {@code boot start} doesn't need to wait for it.
+ */
+public class InitializrMetadataPrefetcher implements ApplicationListener<ApplicationStartedEvent> {
+
+	private final InitializrClientCache initializrClientCache;
+
+	private final SpringCliProperties springCliProperties;
+
+	public InitializrMetadataPrefetcher(InitializrClientCache initializrClientCache,
+			SpringCliProperties springCliProperties) {
+		this.initializrClientCache = initializrClientCache;
+		this.springCliProperties = springCliProperties;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationStartedEvent event) {
+		// commands given as arguments run right away and exit, nothing to win there
+		boolean interactive = new DefaultApplicationArguments(event.getArgs()).getNonOptionArgs().isEmpty();
+		if (interactive && this.springCliProperties.getInitializr().isPrefetch()) {
+			this.initializrClientCache.prefetch(this.springCliProperties.getInitializr().getBaseUrl());
+		}
+	}
+
+}
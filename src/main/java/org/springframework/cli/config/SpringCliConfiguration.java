@@ -25,12 +25,21 @@ import org.jline.terminal.Terminal;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.web.reactive.function.client.ReactorNettyHttpClientMapper;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cli.git.GitClientRegistry;
+import org.springframework.cli.git.GitRepositoryMirrors;
+import org.springframework.cli.git.RepositoryContentsCache;
+import org.springframework.cli.git.SourceRepositoryService;
 import org.springframework.cli.initializr.InitializrClientCache;
+import org.springframework.cli.initializr.InitializrMetadataCache;
 import org.springframework.cli.runtime.command.DynamicMethodCommandResolver;
 import org.springframework.cli.runtime.engine.model.MavenModelPopulator;
 import org.springframework.cli.runtime.engine.model.ModelPopulator;
 import org.springframework.cli.runtime.engine.model.RootPackageModelPopulator;
 import org.springframework.cli.runtime.engine.model.SystemModelPopulator;
+import org.springframework.cli.support.cache.CacheDirectory;
+import org.springframework.cli.support.catalog.AvailableCatalogs;
+import org.springframework.cli.support.catalog.ProjectCatalogIndex;
+import org.springframework.cli.support.catalog.ProjectNameIndex;
 import org.springframework.cli.util.SpringCliTerminal;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.context.annotation.Bean;
@@ -105,8 +114,86 @@ public class SpringCliConfiguration {
 	}
 
 	@Bean
-	InitializrClientCache initializrClientCache(WebClient.Builder webClientBuilder) {
-		return new InitializrClientCache(webClientBuilder);
+	InitializrClientCache initializrClientCache(WebClient.Builder webClientBuilder,
+			SpringCliProperties springCliProperties) {
+		SpringCliProperties.Cache cache = springCliProperties.getCache();
+		InitializrMetadataCache metadataCache = cache.isEnabled()
+				? new InitializrMetadataCache(CacheDirectory.resolve(cache.getDir()).resolve("initializr"),
+						springCliProperties.getInitializr().getMetadataTtl())
+				: InitializrMetadataCache.disabled();
+		return new InitializrClientCache(webClientBuilder, metadataCache);
+	}
+
+	@Bean
+	InitializrMetadataPrefetcher initializrMetadataPrefetcher(InitializrClientCache initializrClientCache,
+			SpringCliProperties springCliProperties) {
+		return new InitializrMetadataPrefetcher(initializrClientCache, springCliProperties);
+	}
+
+	@Bean
+	public RepositoryContentsCache repositoryContentsCache(SpringCliProperties springCliProperties) {
+		SpringCliProperties.Cache cache = springCliProperties.getCache();
+		if (!cache.isEnabled()) {
+			return RepositoryContentsCache.disabled();
+		}
+		return new RepositoryContentsCache(CacheDirectory.resolve(cache.getDir()).resolve("repositories"),
+				cache.getRepositoryMaxSize().toBytes());
+	}
+
+	@Bean
+	public GitClientRegistry gitClientRegistry(SpringCliUserConfig springCliUserConfig,
+			SpringCliProperties springCliProperties) {
+		SpringCliProperties.Cache cache = springCliProperties.getCache();
+		if (!cache.isEnabled()) {
+			return GitClientRegistry.uncached(springCliUserConfig);
+		}
+		return new GitClientRegistry(springCliUserConfig, CacheDirectory.resolve(cache.getDir()).resolve("http"),
+				cache.getHttpMaxSize().toBytes(), cache.getRefTtl());
+	}
+
+	@Bean
+	public GitRepositoryMirrors gitRepositoryMirrors(GitClientRegistry gitClientRegistry,
+			SpringCliProperties springCliProperties) {
+		SpringCliProperties.Cache cache = springCliProperties.getCache();
+		if (!cache.isEnabled()) {
+			return GitRepositoryMirrors.temporary(gitClientRegistry);
+		}
+		return new GitRepositoryMirrors(gitClientRegistry, CacheDirectory.resolve(cache.getDir()).resolve("mirrors"),
+				cache.getMirrorsMaxSize().toBytes());
+	}
+
+	@Bean
+	public ProjectCatalogIndex projectCatalogIndex(SourceRepositoryService sourceRepositoryService,
+			SpringCliProperties springCliProperties) {
+		SpringCliProperties.Cache cache = springCliProperties.getCache();
+		if (!cache.isEnabled()) {
+			return ProjectCatalogIndex.uncached(sourceRepositoryService);
+		}
+		return new ProjectCatalogIndex(sourceRepositoryService,
+				CacheDirectory.resolve(cache.getDir()).resolve("catalogs"), cache.getCatalogTtl());
+	}
+
+	@Bean
+	public ProjectNameIndex projectNameIndex(ProjectCatalogIndex projectCatalogIndex,
+			SpringCliProperties springCliProperties) {
+		SpringCliProperties.Cache cache = springCliProperties.getCache();
+		if (!cache.isEnabled()) {
+			return new ProjectNameIndex(projectCatalogIndex, null);
+		}
+		return new ProjectNameIndex(projectCatalogIndex,
+				CacheDirectory.resolve(cache.getDir()).resolve("catalogs").resolve("project-names.json"));
+	}
+
+	@Bean
+	public AvailableCatalogs availableCatalogs(SourceRepositoryService sourceRepositoryService,
+			SpringCliProperties springCliProperties) {
+		SpringCliProperties.Cache cache = springCliProperties.getCache();
+		if (!cache.isEnabled()) {
+			return AvailableCatalogs.uncached(sourceRepositoryService);
+		}
+		return new AvailableCatalogs(sourceRepositoryService,
+				CacheDirectory.resolve(cache.getDir()).resolve("catalogs").resolve("available-catalogs.yml"),
+				cache.getCatalogTtl());
 	}
 
 	@Bean
@@ -16,7 +16,10 @@
 
 package org.springframework.cli.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Configuration properties for cli.
@@ -30,6 +33,8 @@ public class SpringCliProperties {
 
 	private Github github = new Github();
 
+	private Cache cache = new Cache();
+
 	public Initializr getInitializr() {
 		return initializr;
 	}
@@ -46,9 +51,17 @@ public class SpringCliProperties {
 		this.github = github;
 	}
 
+	public Cache getCache() {
+		return cache;
+	}
+
+	public void setCache(Cache cache) {
+		this.cache = cache;
+	}
+
 	@Override
 	public String toString() {
-		return "SpringCliProperties{" + "initializr=" + initializr + ", github=" + github + '}';
+		return "SpringCliProperties{" + "initializr=" + initializr + ", github=" + github + ", cache=" + cache + '}';
 	}
 
 	/**
@@ -58,6 +71,17 @@ public class SpringCliProperties {
 
 		private String baseUrl = "https://start.spring.io";
 
+		/**
+		 * How long cached initializr metadata is used before it is revalidated.
+		 */
+		private Duration metadataTtl = Duration.ofHours(1);
+
+		/**
+		 * Whether initializr metadata is loaded in the background when the interactive
+		 * shell starts.
+		 */
+		private boolean prefetch = true;
+
 		public String getBaseUrl() {
 			return baseUrl;
 		}
@@ -66,9 +90,26 @@ public class SpringCliProperties {
 			this.baseUrl = baseUrl;
 		}
 
+		public Duration getMetadataTtl() {
+			return metadataTtl;
+		}
+
+		public void setMetadataTtl(Duration metadataTtl) {
+			this.metadataTtl = metadataTtl;
+		}
+
+		public boolean isPrefetch() {
+			return prefetch;
+		}
+
+		public void setPrefetch(boolean prefetch) {
+			this.prefetch = prefetch;
+		}
+
 		@Override
 		public String toString() {
-			return "Initializr{" + "baseUrl='" + baseUrl + '\'' + '}';
+			return "Initializr{" + "baseUrl='" + baseUrl + '\'' + ", metadataTtl=" + metadataTtl + ", prefetch="
+					+ prefetch + '}';
 		}
 
 	}
@@ -109,4 +150,113 @@ public class SpringCliProperties {
 
 	}
 
+	/**
+	 * Settings for local caches kept between cli invocations.
+	 */
+	public static class Cache {
+
+		/**
+		 * Whether local caches are used.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Base directory for caches. Defaults to a platform specific user cache
+		 * directory.
+		 */
+		private String dir;
+
+		/**
+		 * Maximum size of retrieved repository contents kept on disk. Least recently
+		 * used entries are evicted when this is exceeded.
+		 */
+		private DataSize repositoryMaxSize = DataSize.ofMegabytes(512);
+
+		/**
+		 * How long retrieved project catalogs are used before they are refreshed in the
+		 * background.
+		 */
+		private Duration catalogTtl = Duration.ofHours(1);
+
+		/**
+		 * Maximum size of cached GitHub api responses kept on disk.
+		 */
+		private DataSize httpMaxSize = DataSize.ofMegabytes(50);
+
+		/**
+		 * How long a git ref resolved into a commit is used before it is resolved again.
+		 */
+		private Duration refTtl = Duration.ofMinutes(1);
+
+		/**
+		 * Maximum size of git repository mirrors kept on disk. Least recently used
+		 * mirrors are deleted when this is exceeded.
+		 */
+		private DataSize mirrorsMaxSize = DataSize.ofMegabytes(512);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String getDir() {
+			return dir;
+		}
+
+		public void setDir(String dir) {
+			this.dir = dir;
+		}
+
+		public DataSize getRepositoryMaxSize() {
+			return repositoryMaxSize;
+		}
+
+		public void setRepositoryMaxSize(DataSize repositoryMaxSize) {
+			this.repositoryMaxSize = repositoryMaxSize;
+		}
+
+		public Duration getCatalogTtl() {
+			return catalogTtl;
+		}
+
+		public void setCatalogTtl(Duration catalogTtl) {
+			this.catalogTtl = catalogTtl;
+		}
+
+		public DataSize getHttpMaxSize() {
+			return httpMaxSize;
+		}
+
+		public void setHttpMaxSize(DataSize httpMaxSize) {
+			this.httpMaxSize = httpMaxSize;
+		}
+
+		public Duration getRefTtl() {
+			return refTtl;
+		}
+
+		public void setRefTtl(Duration refTtl) {
+			this.refTtl = refTtl;
+		}
+
+		public DataSize getMirrorsMaxSize() {
+			return mirrorsMaxSize;
+		}
+
+		public void setMirrorsMaxSize(DataSize mirrorsMaxSize) {
+			this.mirrorsMaxSize = mirrorsMaxSize;
+		}
+
+		@Override
+		public String toString() {
+			return "Cache{" + "enabled=" + enabled + ", dir='" + dir + '\'' + ", repositoryMaxSize="
+					+ repositoryMaxSize + ", catalogTtl=" + catalogTtl + ", httpMaxSize=" + httpMaxSize + ", refTtl="
+					+ refTtl + ", mirrorsMaxSize=" + mirrorsMaxSize + '}';
+		}
+
+	}
+
 }
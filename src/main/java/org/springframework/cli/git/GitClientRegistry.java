@@ -0,0 +1,266 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.git;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import org.gitlab4j.api.GitLabApi;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.extras.okhttp3.OkHttpGitHubConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.SpringCliException;
+import org.springframework.cli.config.SpringCliUserConfig;
+import org.springframework.cli.config.SpringCliUserConfig.Host;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Registry of GitHub and GitLab api clients shared by all commands. A client is created
+ * once per host and token so that credentials are looked up once and connections are
+ * pooled between requests.
+ *
+ * <p>
+ * GitHub requests go through an http cache kept on disk. Cached responses are always
+ * revalidated with their {@code ETag}, which keeps them up to date while conditional
+ * requests answered with {@code 304 Not Modified} don't count against rate limits. Refs
+ * resolved into commit shas are remembered for a short time to live.
+ */
+public class GitClientRegistry implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(GitClientRegistry.class);
+
+	private final SpringCliUserConfig userConfig;
+
+	private final Path httpCacheDir;
+
+	private final long httpCacheMaxSize;
+
+	private final Duration refTimeToLive;
+
+	private final Map<ClientKey, GitHub> gitHubClients = new ConcurrentHashMap<>();
+
+	private final Map<ClientKey, GitLabApi> gitLabClients = new ConcurrentHashMap<>();
+
+	private final Map<String, ResolvedRef> resolvedRefs = new ConcurrentHashMap<>();
+
+	private OkHttpClient httpClient;
+
+	/**
+	 * Create a new registry.
+	 * @param userConfig the user config holding tokens of hosts
+	 * @param httpCacheDir the directory where http responses are cached, {@code null}
+	 * disables the http cache
+	 * @param httpCacheMaxSize the maximum size of the http cache in bytes
+	 * @param refTimeToLive how long a resolved ref is used without resolving it again
+	 */
+	public GitClientRegistry(SpringCliUserConfig userConfig, @Nullable Path httpCacheDir, long httpCacheMaxSize,
+			Duration refTimeToLive) {
+		Assert.notNull(userConfig, "userConfig must be set");
+		Assert.notNull(refTimeToLive, "refTimeToLive must be set");
+		this.userConfig = userConfig;
+		this.httpCacheDir = httpCacheDir;
+		this.httpCacheMaxSize = httpCacheMaxSize;
+		this.refTimeToLive = refTimeToLive;
+	}
+
+	/**
+	 * Create a registry which neither caches http responses nor remembers resolved refs.
+	 * Clients are still shared.
+	 * @param userConfig the user config holding tokens of hosts
+	 * @return uncached registry
+	 */
+	public static GitClientRegistry uncached(SpringCliUserConfig userConfig) {
+		return new GitClientRegistry(userConfig, null, 0, Duration.ZERO);
+	}
+
+	/**
+	 * Get a GitHub client for a repository.
+	 * @param gitUri the repository uri
+	 * @return the client
+	 * @throws IOException if the client can't be created
+	 */
+	public GitHub getGitHub(URI gitUri) throws IOException {
+		ClientKey key = new ClientKey(gitUri.getHost(), getToken(gitUri.getHost()));
+		GitHub github = this.gitHubClients.get(key);
+		if (github == null) {
+			github = createGitHub(key.token());
+			GitHub existing = this.gitHubClients.putIfAbsent(key, github);
+			github = (existing != null) ? existing : github;
+		}
+		return github;
+	}
+
+	/**
+	 * Get a GitLab client for a repository.
+	 * @param gitUri the repository uri
+	 * @return the client
+	 */
+	public GitLabApi getGitLabApi(URI gitUri) {
+		String token = getToken(gitUri.getHost());
+		if (token == null) {
+			throw new SpringCliException("Access token not provided for " + gitUri);
+		}
+		return this.gitLabClients.computeIfAbsent(new ClientKey(gitUri.getHost(), token),
+				(key) -> new GitLabApi(gitUri.getScheme() + "://" + gitUri.getHost(), token));
+	}
+
+	/**
+	 * Resolve a ref of a repository into a commit sha, using a previously resolved sha
+	 * while it is within its time to live.
+	 * @param <E> the exception thrown by the resolver
+	 * @param repoUrl the repository url
+	 * @param ref the ref, {@code null} for the default branch
+	 * @param resolver resolves the ref when it isn't known
+	 * @return the commit sha or {@code null} if it could not be resolved
+	 * @throws E if the ref can't be resolved
+	 */
+	@Nullable
+	public <E extends Exception> String resolveRef(String repoUrl, @Nullable String ref, RefResolver<E> resolver)
+			throws E {
+		String key = repoUrl + "#" + (StringUtils.hasText(ref) ? ref : "");
+		ResolvedRef resolvedRef = this.resolvedRefs.get(key);
+		if (resolvedRef != null && resolvedRef.expires().isAfter(Instant.now())) {
+			return resolvedRef.sha();
+		}
+		String sha = resolver.resolve();
+		if (sha != null && !this.refTimeToLive.isZero()) {
+			this.resolvedRefs.put(key, new ResolvedRef(sha, Instant.now().plus(this.refTimeToLive)));
+		}
+		return sha;
+	}
+
+	@Override
+	public void close() {
+		this.gitLabClients.values().forEach(GitLabApi::close);
+		this.gitLabClients.clear();
+		this.gitHubClients.clear();
+		synchronized (this) {
+			if (this.httpClient != null) {
+				this.httpClient.connectionPool().evictAll();
+				closeHttpCache(this.httpClient.cache());
+				this.httpClient = null;
+			}
+		}
+	}
+
+	private GitHub createGitHub(@Nullable String token) throws IOException {
+		GitHubBuilder builder = null;
+		if (token == null) {
+			// try to use an environment variable
+			if (StringUtils.hasText(System.getenv("GITHUB_OAUTH"))) {
+				try {
+					builder = GitHubBuilder.fromEnvironment();
+				}
+				catch (IOException ex) {
+					logger.trace("No environment variable GITHUB_AUTH found.", ex.getMessage());
+					// do nothing
+				}
+			}
+			// fallback to property file
+			if (builder == null) {
+				try {
+					builder = GitHubBuilder.fromPropertyFile();
+				}
+				catch (IOException ex) {
+					logger.trace("No .github directory found under the base user.dir.", ex.getMessage());
+					// ignore as there is not a .github directory under the user.dir
+				}
+			}
+			// connect anonymously
+			if (builder == null) {
+				// TODO terminal warning about rate limiting
+				builder = new GitHubBuilder();
+			}
+		}
+		else {
+			builder = new GitHubBuilder().withOAuthToken(token);
+		}
+		return builder.withConnector(new OkHttpGitHubConnector(getHttpClient())).build();
+	}
+
+	private synchronized OkHttpClient getHttpClient() {
+		if (this.httpClient == null) {
+			OkHttpClient.Builder builder = new OkHttpClient.Builder();
+			if (this.httpCacheDir != null) {
+				builder.cache(new Cache(this.httpCacheDir.toFile(), this.httpCacheMaxSize));
+			}
+			this.httpClient = builder.build();
+		}
+		return this.httpClient;
+	}
+
+	private static void closeHttpCache(@Nullable Cache cache) {
+		if (cache != null) {
+			try {
+				cache.close();
+			}
+			catch (IOException ex) {
+				logger.debug("Unable to close http cache " + cache.directory(), ex);
+			}
+		}
+	}
+
+	/**
+	 * Get the token configured for a host.
+	 * @param host the host
+	 * @return the token or {@code null} if none is configured
+	 */
+	@Nullable
+	public String getToken(String host) {
+		Map<String, Host> hosts = this.userConfig.getHosts();
+		if (hosts != null) {
+			Host h = hosts.get(host);
+			if (h != null) {
+				return h.getOauthToken();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Resolves a ref into a commit sha.
+	 *
+	 * @param <E> the exception thrown when the ref can't be resolved
+	 */
+	@FunctionalInterface
+	public interface RefResolver<E extends Exception> {
+
+		@Nullable
+		String resolve() throws E;
+
+	}
+
+	private record ClientKey(String host, @Nullable String token) {
+	}
+
+	private record ResolvedRef(String sha, Instant expires) {
+	}
+
+}
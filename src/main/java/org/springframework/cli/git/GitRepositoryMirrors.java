@@ -0,0 +1,550 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.git;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryCache;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.TagOpt;
+import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.util.FS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.SpringCliException;
+import org.springframework.cli.support.cache.CacheDirectory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Retrieves repository contents over the git protocol, which works with any git server
+ * and with local bare repositories. A bare mirror is kept for each repository and only
+ * the requested ref is fetched into it with a shallow fetch. A ref whose commit is
+ * already in the mirror isn't fetched at all and if the remote can't be reached, refs
+ * already in the mirror are used.
+ *
+ * <p>
+ * Contents are read directly from the mirror's object database, only walking the tree
+ * under a requested sub path, so no worktree or index is ever created.
+ *
+ * <p>
+ * Each mirror is locked separately, so different repositories are retrieved
+ * concurrently. Total size of the mirrors is bounded and least recently used mirrors are
+ * deleted first.
+ *
+ * <p>
+ * Urls prefixed with {@code git+}, such as {@code git+https://host/repo.git} or
+ * {@code git+file:/path/repo.git}, {@code git://} urls and {@code file:} urls pointing
+ * to a bare repository are retrieved this way. As with other urls, {@code ref} and
+ * {@code subPath} query parameters select what is retrieved.
+ */
+public class GitRepositoryMirrors {
+
+	private static final Logger logger = LoggerFactory.getLogger(GitRepositoryMirrors.class);
+
+	private static final String GIT_PREFIX = "git+";
+
+	private static final String MIRROR_SUFFIX = ".git";
+
+	private static final Pattern COMMIT_SHA = Pattern.compile("[0-9a-f]{40}");
+
+	private final GitClientRegistry gitClientRegistry;
+
+	private final Path mirrorsDir;
+
+	private final long maxSize;
+
+	private final Map<Path, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+	/**
+	 * Create new mirrors.
+	 * @param gitClientRegistry the registry providing tokens of hosts
+	 * @param mirrorsDir the directory where mirrors are kept, {@code null} uses a
+	 * temporary mirror for each retrieval
+	 * @param maxSize the maximum total size in bytes of kept mirrors
+	 */
+	public GitRepositoryMirrors(GitClientRegistry gitClientRegistry, @Nullable Path mirrorsDir, long maxSize) {
+		Assert.notNull(gitClientRegistry, "gitClientRegistry must be set");
+		Assert.isTrue(maxSize >= 0, "maxSize must not be negative");
+		this.gitClientRegistry = gitClientRegistry;
+		this.mirrorsDir = mirrorsDir;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Create mirrors which use a temporary mirror for each retrieval.
+	 * @param gitClientRegistry the registry providing tokens of hosts
+	 * @return mirrors which keep nothing
+	 */
+	public static GitRepositoryMirrors temporary(GitClientRegistry gitClientRegistry) {
+		return new GitRepositoryMirrors(gitClientRegistry, null, 0);
+	}
+
+	/**
+	 * Return {@code true} if a url is retrieved over the git protocol.
+	 * @param url the repository url
+	 * @return if the url is a git url
+	 */
+	public static boolean isGitUrl(String url) {
+		if (url.startsWith(GIT_PREFIX) || url.startsWith("git://")) {
+			return true;
+		}
+		if (url.startsWith("file:")) {
+			try {
+				File dir = new File(GitRemote.parse(url).url());
+				return RepositoryCache.FileKey.isGitRepository(dir, FS.DETECTED);
+			}
+			catch (IllegalArgumentException ex) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the name of a repository from its git url.
+	 * @param url the repository url
+	 * @return the repository name
+	 */
+	public static String getRepositoryName(String url) {
+		String path = StringUtils.trimTrailingCharacter(GitRemote.parse(url).url(), '/');
+		String name = path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf(':')) + 1);
+		return name.endsWith(".git") ? name.substring(0, name.length() - 4) : name;
+	}
+
+	/**
+	 * Retrieve contents of a repository.
+	 * @param url the repository url
+	 * @param targetPath the directory to write contents into
+	 * @return the directory contents were written into
+	 */
+	public Path retrieve(String url, Path targetPath) {
+		GitRemote remote = GitRemote.parse(url);
+		return withCommit(remote, (repository, commit) -> extract(repository, commit, remote, targetPath));
+	}
+
+	/**
+	 * Retrieve a single file of a repository.
+	 * @param url the repository url
+	 * @param fileName the name of the file relative to the repository or its sub path
+	 * @return the file contents
+	 */
+	public String retrieveFile(String url, String fileName) {
+		GitRemote remote = GitRemote.parse(url);
+		String filePath = (remote.prefix().isEmpty()) ? fileName : remote.prefix() + "/" + fileName;
+		return withCommit(remote, (repository, commit) -> {
+			try (TreeWalk treeWalk = TreeWalk.forPath(repository, filePath, commit.getTree())) {
+				if (treeWalk == null) {
+					throw new SpringCliException("File " + filePath + " not found in " + remote.url());
+				}
+				return new String(repository.open(treeWalk.getObjectId(0)).getBytes(), StandardCharsets.UTF_8);
+			}
+		});
+	}
+
+	private <T> T withCommit(GitRemote remote, CommitCallback<T> callback) {
+		if (this.mirrorsDir == null) {
+			Path mirrorDir = null;
+			try {
+				mirrorDir = Files.createTempDirectory("git-mirror-");
+				return withCommit(mirrorDir, remote, callback);
+			}
+			catch (IOException | GitAPIException ex) {
+				throw new SpringCliException("Failed processing " + remote.url(), ex);
+			}
+			finally {
+				if (mirrorDir != null) {
+					deleteQuietly(mirrorDir);
+				}
+			}
+		}
+		Path mirrorDir = this.mirrorsDir.resolve(CacheDirectory.id(remote.url()) + MIRROR_SUFFIX);
+		// guards the mirror against other threads, the file lock against other processes
+		ReentrantLock lock = this.locks.computeIfAbsent(mirrorDir, (dir) -> new ReentrantLock());
+		lock.lock();
+		try {
+			Files.createDirectories(this.mirrorsDir);
+			Path lockFile = lockFile(mirrorDir);
+			try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE); FileLock fileLock = channel.lock()) {
+				// the lock file's modification time tracks when a mirror was last used
+				Files.setLastModifiedTime(lockFile, FileTime.from(Instant.now()));
+				return withCommit(mirrorDir, remote, callback);
+			}
+		}
+		catch (IOException | GitAPIException ex) {
+			throw new SpringCliException("Failed processing " + remote.url(), ex);
+		}
+		finally {
+			lock.unlock();
+			evict(mirrorDir);
+		}
+	}
+
+	private <T> T withCommit(Path mirrorDir, GitRemote remote, CommitCallback<T> callback)
+			throws IOException, GitAPIException {
+		try (Repository repository = openMirror(mirrorDir); RevWalk revWalk = new RevWalk(repository)) {
+			RevCommit commit = revWalk.parseCommit(update(repository, remote));
+			return callback.apply(repository, commit);
+		}
+	}
+
+	/**
+	 * Delete least recently used mirrors until their total size is within the limit.
+	 * Mirrors in use by other threads or processes are kept.
+	 * @param keep the mirror to keep as it was just used
+	 */
+	void evict(Path keep) {
+		List<Path> mirrors;
+		try (Stream<Path> stream = Files.list(this.mirrorsDir)) {
+			mirrors = stream.filter((path) -> path.getFileName().toString().endsWith(MIRROR_SUFFIX)).toList();
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to list mirrors in " + this.mirrorsDir, ex);
+			return;
+		}
+		Map<Path, Long> sizes = new HashMap<>();
+		for (Path mirror : mirrors) {
+			sizes.put(mirror, sizeOf(mirror));
+		}
+		long total = sizes.values().stream().mapToLong(Long::longValue).sum();
+		List<Path> candidates = new ArrayList<>(mirrors);
+		candidates.remove(keep);
+		candidates.sort(Comparator.comparing(GitRepositoryMirrors::lastUsed));
+		for (Path mirror : candidates) {
+			if (total <= this.maxSize) {
+				break;
+			}
+			if (deleteUnlessInUse(mirror)) {
+				total -= sizes.get(mirror);
+			}
+		}
+	}
+
+	private boolean deleteUnlessInUse(Path mirrorDir) {
+		ReentrantLock lock = this.locks.computeIfAbsent(mirrorDir, (dir) -> new ReentrantLock());
+		if (!lock.tryLock()) {
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(lockFile(mirrorDir), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE); FileLock fileLock = channel.tryLock()) {
+			if (fileLock == null) {
+				return false;
+			}
+			logger.debug("Evicting mirror {}", mirrorDir);
+			FileSystemUtils.deleteRecursively(mirrorDir);
+			return true;
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to evict mirror " + mirrorDir, ex);
+			return false;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private static FileTime lastUsed(Path mirrorDir) {
+		try {
+			return Files.getLastModifiedTime(lockFile(mirrorDir));
+		}
+		catch (IOException ex) {
+			return FileTime.fromMillis(0);
+		}
+	}
+
+	private static long sizeOf(Path dir) {
+		try (Stream<Path> stream = Files.walk(dir)) {
+			return stream.filter(Files::isRegularFile).mapToLong((path) -> path.toFile().length()).sum();
+		}
+		catch (IOException | UncheckedIOException ex) {
+			return 0;
+		}
+	}
+
+	private static Path lockFile(Path mirrorDir) {
+		return mirrorDir.resolveSibling(mirrorDir.getFileName() + ".lock");
+	}
+
+	private static Repository openMirror(Path mirrorDir) throws IOException, GitAPIException {
+		if (!RepositoryCache.FileKey.isGitRepository(mirrorDir.toFile(), FS.DETECTED)) {
+			FileSystemUtils.deleteRecursively(mirrorDir);
+			try (Git git = Git.init().setBare(true).setDirectory(mirrorDir.toFile()).call()) {
+				logger.debug("Created mirror {}", mirrorDir);
+			}
+		}
+		return new FileRepositoryBuilder().setGitDir(mirrorDir.toFile()).setMustExist(true).build();
+	}
+
+	/**
+	 * Make sure the commit of the requested ref is in the mirror.
+	 * @return the id of the ref's commit or annotated tag
+	 */
+	private ObjectId update(Repository repository, GitRemote remote) throws IOException, GitAPIException {
+		String ref = remote.ref();
+		CredentialsProvider credentials = getCredentials(remote);
+		Collection<Ref> remoteRefs;
+		try {
+			remoteRefs = Git.lsRemoteRepository()
+				.setRemote(remote.url())
+				.setCredentialsProvider(credentials)
+				.call();
+		}
+		catch (GitAPIException ex) {
+			ObjectId mirrored = repository.resolve(mirroredRefName(ref));
+			if (mirrored == null) {
+				throw ex;
+			}
+			logger.warn("Unable to reach {}, using mirrored contents: {}", remote.url(), ex.getMessage());
+			return mirrored;
+		}
+		Ref remoteRef = findRef(remoteRefs, ref);
+		String source;
+		ObjectId objectId;
+		if (remoteRef != null) {
+			source = remoteRef.getName();
+			objectId = remoteRef.getObjectId();
+		}
+		else if (ref != null && COMMIT_SHA.matcher(ref).matches()) {
+			source = ref;
+			objectId = ObjectId.fromString(ref);
+		}
+		else {
+			throw new SpringCliException("Not able to find ref " + ref + " for " + remote.url());
+		}
+		String destination = mirroredRefName(ref);
+		if (repository.getObjectDatabase().has(objectId)) {
+			logger.debug("Ref {} of {} is already mirrored", source, remote.url());
+		}
+		else {
+			logger.debug("Fetching ref {} of {}", source, remote.url());
+			try (Git git = Git.wrap(repository)) {
+				git.fetch()
+					.setRemote(remote.url())
+					.setCredentialsProvider(credentials)
+					.setRefSpecs(new RefSpec("+" + source + ":" + destination))
+					.setTagOpt(TagOpt.NO_TAGS)
+					.setDepth(1)
+					.call();
+			}
+		}
+		if (!objectId.equals(repository.resolve(destination))) {
+			RefUpdate refUpdate = repository.updateRef(destination);
+			refUpdate.setNewObjectId(objectId);
+			refUpdate.forceUpdate();
+		}
+		return objectId;
+	}
+
+	@Nullable
+	private static Ref findRef(Collection<Ref> remoteRefs, @Nullable String ref) {
+		for (Ref remoteRef : remoteRefs) {
+			String name = remoteRef.getName();
+			if (ref == null) {
+				if (name.equals(Constants.HEAD)) {
+					return remoteRef;
+				}
+			}
+			else if (name.equals(Constants.R_HEADS + ref) || name.equals(Constants.R_TAGS + ref) || name.equals(ref)) {
+				return remoteRef;
+			}
+		}
+		return null;
+	}
+
+	private static String mirroredRefName(@Nullable String ref) {
+		return "refs/mirror/" + (StringUtils.hasText(ref) ? ref : Constants.HEAD);
+	}
+
+	@Nullable
+	private CredentialsProvider getCredentials(GitRemote remote) {
+		try {
+			String host = new URI(remote.url()).getHost();
+			String token = (host != null) ? this.gitClientRegistry.getToken(host) : null;
+			return (token != null) ? new UsernamePasswordCredentialsProvider("oauth2", token) : null;
+		}
+		catch (URISyntaxException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Write the tree of a commit, or of its sub path, into a directory.
+	 */
+	private static Path extract(Repository repository, RevCommit commit, GitRemote remote, Path targetPath)
+			throws IOException {
+		Path root = targetPath.toAbsolutePath().normalize();
+		String prefix = remote.prefix();
+		boolean matched = false;
+		try (TreeWalk treeWalk = new TreeWalk(repository)) {
+			treeWalk.addTree(commit.getTree());
+			treeWalk.setRecursive(true);
+			if (!prefix.isEmpty()) {
+				treeWalk.setFilter(PathFilter.create(prefix));
+			}
+			while (treeWalk.next()) {
+				matched = true;
+				String name = treeWalk.getPathString();
+				if (!prefix.isEmpty()) {
+					name = (name.length() > prefix.length()) ? name.substring(prefix.length() + 1) : "";
+				}
+				int mode = treeWalk.getRawMode(0);
+				if (name.isEmpty() || FileMode.GITLINK.equals(mode)) {
+					continue;
+				}
+				Path path = root.resolve(name).normalize();
+				if (!path.startsWith(root)) {
+					throw new SpringCliException("Repository entry " + name + " is outside of " + root);
+				}
+				ObjectLoader loader = repository.open(treeWalk.getObjectId(0));
+				if (FileMode.SYMLINK.equals(mode)) {
+					String linkName = new String(loader.getBytes(), StandardCharsets.UTF_8);
+					TarGzExtractor.createSymbolicLink(root, path, linkName);
+					continue;
+				}
+				Files.createDirectories(path.getParent());
+				try (OutputStream outputStream = Files.newOutputStream(path)) {
+					loader.copyTo(outputStream);
+				}
+				if (FileMode.EXECUTABLE_FILE.equals(mode)) {
+					path.toFile().setExecutable(true);
+				}
+			}
+		}
+		if (!prefix.isEmpty() && !matched) {
+			throw new SpringCliException("Path '" + remote.subPath() + "' not found in repository " + remote.url());
+		}
+		logger.debug("Wrote commit {} of {} to {}", commit.getName(), remote.url(), root);
+		return targetPath;
+	}
+
+	private static void deleteQuietly(Path path) {
+		try {
+			FileSystemUtils.deleteRecursively(path);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to delete " + path, ex);
+		}
+	}
+
+	/**
+	 * Works with the commit of a requested ref.
+	 */
+	@FunctionalInterface
+	private interface CommitCallback<T> {
+
+		T apply(Repository repository, RevCommit commit) throws IOException;
+
+	}
+
+	/**
+	 * A git remote parsed from a repository url.
+	 *
+	 * @param url the url git is used with
+	 * @param ref the optional ref
+	 * @param subPath the optional sub path
+	 */
+	record GitRemote(String url, @Nullable String ref, @Nullable String subPath) {
+
+		static GitRemote parse(String url) {
+			String remote = url.startsWith(GIT_PREFIX) ? url.substring(GIT_PREFIX.length()) : url;
+			String ref = null;
+			String subPath = null;
+			int index = remote.indexOf('?');
+			if (index >= 0) {
+				for (String parameter : remote.substring(index + 1).split("&")) {
+					if (parameter.startsWith("ref=")) {
+						ref = parameter.substring(4);
+					}
+					else if (parameter.startsWith("subPath=")) {
+						subPath = parameter.substring(8);
+					}
+					else {
+						throw new IllegalArgumentException(
+								"Query parameter " + parameter + " is invalid, only 'ref' and 'subPath' are supported");
+					}
+				}
+				remote = remote.substring(0, index);
+			}
+			if (remote.startsWith("file:")) {
+				try {
+					remote = ResourceUtils.getFile(remote).getAbsolutePath();
+				}
+				catch (FileNotFoundException ex) {
+					throw new IllegalArgumentException("Invalid file url '" + url + "'", ex);
+				}
+			}
+			return new GitRemote(remote, StringUtils.hasText(ref) ? ref : null, subPath);
+		}
+
+		/**
+		 * The sub path without leading and trailing slashes, empty if there is none.
+		 */
+		String prefix() {
+			if (!StringUtils.hasText(this.subPath)) {
+				return "";
+			}
+			return StringUtils.trimTrailingCharacter(
+					StringUtils.trimLeadingCharacter(StringUtils.cleanPath(this.subPath), '/'), '/');
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021-2023 the original author or authors.
+ * Copyright 2021-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,45 +16,36 @@
 
 package org.springframework.cli.git;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
 
 import org.gitlab4j.api.Constants.ArchiveFormat;
-import org.gitlab4j.api.Constants.SortOrder;
-import org.gitlab4j.api.Constants.TagOrderBy;
 import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.GitLabApiException;
-import org.gitlab4j.api.models.Branch;
-import org.gitlab4j.api.models.Tag;
+import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GitHub;
-import org.kohsuke.github.GitHubBuilder;
-import org.rauschig.jarchivelib.Archiver;
-import org.rauschig.jarchivelib.ArchiverFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.config.SpringCliUserConfig;
-import org.springframework.cli.config.SpringCliUserConfig.Host;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
 import org.springframework.util.FileSystemUtils;
 import org.springframework.util.ResourceUtils;
-import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
 
 /**
- * Retrieve source files from GitHub or GitLab
+ * Retrieve source files from GitHub or GitLab, or from any git repository using
+ * {@link GitRepositoryMirrors}.
  *
  * @author Thomas Risberg
  */
@@ -63,39 +54,117 @@ public class GitSourceRepositoryService implements SourceRepositoryService {
 
 	private final Logger logger = LoggerFactory.getLogger(GitSourceRepositoryService.class);
 
-	private final SpringCliUserConfig userConfig;
+	private final RepositoryContentsCache repositoryContentsCache;
+
+	private final GitClientRegistry gitClientRegistry;
+
+	private final GitRepositoryMirrors gitRepositoryMirrors;
 
 	public GitSourceRepositoryService(SpringCliUserConfig userConfig) {
-		this.userConfig = userConfig;
+		this(userConfig, RepositoryContentsCache.disabled());
+	}
+
+	public GitSourceRepositoryService(SpringCliUserConfig userConfig, RepositoryContentsCache repositoryContentsCache) {
+		this(repositoryContentsCache, GitClientRegistry.uncached(userConfig));
+	}
+
+	public GitSourceRepositoryService(RepositoryContentsCache repositoryContentsCache,
+			GitClientRegistry gitClientRegistry) {
+		this(repositoryContentsCache, gitClientRegistry, GitRepositoryMirrors.temporary(gitClientRegistry));
+	}
+
+	@Autowired
+	public GitSourceRepositoryService(RepositoryContentsCache repositoryContentsCache,
+			GitClientRegistry gitClientRegistry, GitRepositoryMirrors gitRepositoryMirrors) {
+		Assert.notNull(repositoryContentsCache, "repositoryContentsCache must be set");
+		Assert.notNull(gitClientRegistry, "gitClientRegistry must be set");
+		Assert.notNull(gitRepositoryMirrors, "gitRepositoryMirrors must be set");
+		this.repositoryContentsCache = repositoryContentsCache;
+		this.gitClientRegistry = gitClientRegistry;
+		this.gitRepositoryMirrors = gitRepositoryMirrors;
 	}
 
 	@Override
 	public Path retrieveRepositoryContents(String sourceRepoUrl) {
-		Path targetPath;
-		try {
-			targetPath = Files.createTempDirectory("source-repo-");
-		}
-		catch (IOException ex) {
-			throw new SpringCliException("Failed to create temp directory: " + ex.getMessage(), ex);
-		}
-
 		Path contentPath;
-		if (sourceRepoUrl.startsWith("file:")) {
-			contentPath = retrieveFileContents(sourceRepoUrl, targetPath);
+		if (GitRepositoryMirrors.isGitUrl(sourceRepoUrl)) {
+			contentPath = this.gitRepositoryMirrors.retrieve(sourceRepoUrl, createTempDirectory());
+		}
+		else if (sourceRepoUrl.startsWith("file:")) {
+			contentPath = retrieveFileContents(sourceRepoUrl, createTempDirectory());
 		}
 		else {
 			GitRepoUrlRef gitRepoUrlRef = GitRepoUrlRef.fromUriString(sourceRepoUrl);
 			if (gitRepoUrlRef.getRepoUrl().toString().contains("github.com")) {
-				contentPath = retrieveGitHubRepositoryContents(gitRepoUrlRef, targetPath);
+				contentPath = retrieveGitHubRepositoryContents(gitRepoUrlRef);
 			}
 			else {
-				contentPath = retrieveGitLabRepositoryContents(gitRepoUrlRef, targetPath);
+				contentPath = retrieveGitLabRepositoryContents(gitRepoUrlRef);
 			}
 		}
 		logger.debug("Source from " + sourceRepoUrl + " retrieved into " + contentPath.toFile().getAbsolutePath());
 		return contentPath;
 	}
 
+	@Override
+	public String retrieveFileContents(String sourceRepoUrl, String fileName) {
+		if (GitRepositoryMirrors.isGitUrl(sourceRepoUrl)) {
+			return this.gitRepositoryMirrors.retrieveFile(sourceRepoUrl, fileName);
+		}
+		if (sourceRepoUrl.startsWith("file:")) {
+			try {
+				return Files.readString(ResourceUtils.getFile(sourceRepoUrl).toPath().resolve(fileName));
+			}
+			catch (IOException ex) {
+				throw new SpringCliException("Failed processing " + sourceRepoUrl, ex);
+			}
+		}
+		GitRepoUrlRef gitRepoUrlRef = GitRepoUrlRef.fromUriString(sourceRepoUrl);
+		String filePath = StringUtils.hasText(gitRepoUrlRef.getSubPath())
+				? StringUtils.trimTrailingCharacter(gitRepoUrlRef.getSubPath(), '/') + "/" + fileName : fileName;
+		String contents;
+		if (gitRepoUrlRef.getRepoUrl().toString().contains("github.com")) {
+			contents = retrieveGitHubFileContents(gitRepoUrlRef, filePath);
+		}
+		else {
+			contents = retrieveGitLabFileContents(gitRepoUrlRef, filePath);
+		}
+		logger.debug("File " + filePath + " retrieved from " + sourceRepoUrl);
+		return contents;
+	}
+
+	private Path createTempDirectory() {
+		try {
+			return Files.createTempDirectory("source-repo-");
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Failed to create temp directory: " + ex.getMessage(), ex);
+		}
+	}
+
+	/**
+	 * Retrieve contents either from a cache or using a retriever which is expected to
+	 * download contents for an exact commit. Contents are cached only when a commit sha
+	 * is known as otherwise contents behind a ref may change.
+	 */
+	private Path retrieveCachedContents(GitRepoUrlRef url, @Nullable String refSha, ContentsRetriever retriever)
+			throws IOException {
+		Path targetPath = createTempDirectory();
+		if (refSha == null || !this.repositoryContentsCache.isEnabled()) {
+			return retriever.retrieve(targetPath);
+		}
+		RepositoryContentsCache.Key key = new RepositoryContentsCache.Key(url.getRepoUrl().toString(), refSha,
+				url.getSubPath());
+		if (this.repositoryContentsCache.copyTo(key, targetPath)) {
+			return targetPath;
+		}
+		FileSystemUtils.deleteRecursively(targetPath);
+		Files.createDirectories(targetPath);
+		Path contentPath = retriever.retrieve(targetPath);
+		this.repositoryContentsCache.put(key, contentPath);
+		return contentPath;
+	}
+
 	/**
 	 * Retrieve contents from a file location.
 	 */
@@ -115,161 +184,170 @@ public class GitSourceRepositoryService implements SourceRepositoryService {
 	/**
 	 * Retrieve contents from a GitHub repository.
 	 */
-	private Path retrieveGitHubRepositoryContents(GitRepoUrlRef url, Path targetPath) {
-
+	private Path retrieveGitHubRepositoryContents(GitRepoUrlRef url) {
 		try {
 			URI gitUri = new URI(url.getRepoUrl().toString());
-			String token = getToken(gitUri.getHost());
-			GitHub github = null;
-			if (token == null) {
-				// try to use an environment variable
-				if (StringUtils.hasText(System.getenv("GITHUB_OAUTH"))) {
-					try {
-						github = GitHubBuilder.fromEnvironment().build();
-					}
-					catch (IOException ex) {
-						logger.trace("No environment variable GITHUB_AUTH found.", ex.getMessage());
-						// do nothing
-					}
-				}
-				// fallback to property file
-				if (github == null) {
-					try {
-						github = GitHubBuilder.fromPropertyFile().build();
-					}
-					catch (IOException ex) {
-						logger.trace("No .github directory found under the base user.dir.", ex.getMessage());
-						// ignore as there is not a .github directory under the user.dir
-					}
-				}
-				// connect anonymously
-				if (github == null) {
-					// TODO terminal warning about rate limiting
-					github = GitHub.connectAnonymously();
-				}
-			}
-			else {
-				github = new GitHubBuilder().withOAuthToken(token).build();
-			}
-			String repo = gitUri.getPath().substring(1);
-			if (repo.endsWith(".git")) {
-				repo = repo.substring(0, repo.length() - 4);
-			}
-			String ref = url.getRef();
-			GHRepository ghRepository = github.getRepository(repo);
-			InputStream inputStream = ghRepository
-				.readTar((inputstream) -> new ByteArrayInputStream(StreamUtils.copyToByteArray(inputstream)), ref);
-
-			File targetFile = targetPath.toFile();
-			Archiver archiver = ArchiverFactory.createArchiver("tar", "gz");
-			try {
-				archiver.extract(inputStream, targetPath.toFile());
-			}
-			catch (Exception ex) {
-				throw new SpringCliException(String.format("Extraction error to %s", targetFile.getAbsolutePath()), ex);
-			}
+			GHRepository ghRepository = this.gitClientRegistry.getGitHub(gitUri)
+				.getRepository(getRepositoryName(gitUri));
+			String refSha = this.gitClientRegistry.resolveRef(url.getRepoUrl().toString(), url.getRef(),
+					() -> resolveGitHubRefSha(ghRepository, url.getRef()));
+			String ref = (refSha != null) ? refSha : url.getRef();
+			return retrieveCachedContents(url, refSha,
+					(targetPath) -> extractGitHubRepositoryContents(ghRepository, ref, url, targetPath));
+		}
+		catch (IOException | URISyntaxException ex) {
+			throw new SpringCliException("Failed processing " + url, ex);
+		}
+	}
 
-			Path unTar = Paths.get(targetPath.toFile().getAbsolutePath());
-			AtomicReference<Path> tarDir = new AtomicReference<>();
-			Files.list(unTar.toFile().toPath()).forEach((path) -> {
-				if (path.toFile().isDirectory()) {
-					if (tarDir.get() != null) {
-						throw new SpringCliException("Detected multiple directories '" + tarDir.get().toFile().getName()
-								+ "' and '" + path.toFile().getName() + " in downloaded zip file");
-					}
-					tarDir.set(path);
-				}
-			});
-			if (tarDir.get() == null) {
-				throw new SpringCliException(
-						"Downloaded zip file not unzipped correctly into " + unTar.toFile().getAbsolutePath());
-			}
-			Path contentPath;
-			if (StringUtils.hasText(url.getSubPath())) {
-				contentPath = Paths.get(tarDir.get().toFile().getAbsolutePath(), url.getSubPath());
-			}
-			else {
-				contentPath = tarDir.get();
+	/**
+	 * Retrieve a single file from a GitHub repository using the contents api.
+	 */
+	private String retrieveGitHubFileContents(GitRepoUrlRef url, String filePath) {
+		try {
+			URI gitUri = new URI(url.getRepoUrl().toString());
+			GHRepository ghRepository = this.gitClientRegistry.getGitHub(gitUri)
+				.getRepository(getRepositoryName(gitUri));
+			GHContent content = StringUtils.hasText(url.getRef()) ? ghRepository.getFileContent(filePath, url.getRef())
+					: ghRepository.getFileContent(filePath);
+			try (InputStream inputStream = content.read()) {
+				return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
 			}
-			return contentPath;
 		}
 		catch (IOException | URISyntaxException ex) {
-			throw new SpringCliException("Failed processing " + url, ex);
+			throw new SpringCliException("Failed processing " + filePath + " from " + url, ex);
+		}
+	}
+
+	/**
+	 * Resolve a ref, or a default branch if ref is not given, into a commit sha. This is
+	 * a single lightweight api call compared to downloading a full archive and is what
+	 * decides if cached contents are still fresh.
+	 */
+	@Nullable
+	private String resolveGitHubRefSha(GHRepository ghRepository, @Nullable String ref) {
+		String refToUse = StringUtils.hasText(ref) ? ref : ghRepository.getDefaultBranch();
+		if (!StringUtils.hasText(refToUse)) {
+			return null;
+		}
+		try {
+			return ghRepository.getCommit(refToUse).getSHA1();
 		}
+		catch (IOException ex) {
+			logger.debug("Unable to resolve ref " + refToUse + " for " + ghRepository.getFullName(), ex);
+			return null;
+		}
+	}
+
+	private Path extractGitHubRepositoryContents(GHRepository ghRepository, String ref, GitRepoUrlRef url,
+			Path targetPath) throws IOException {
+		// extract while the response is being read instead of buffering whole archive
+		ghRepository.readTar((inputStream) -> {
+			TarGzExtractor.extract(inputStream, targetPath, url.getSubPath());
+			return null;
+		}, ref);
+		return targetPath;
 	}
 
 	/**
 	 * Retrieve contents from a GitLab repository.
 	 */
-	private Path retrieveGitLabRepositoryContents(GitRepoUrlRef url, Path targetPath) {
+	private Path retrieveGitLabRepositoryContents(GitRepoUrlRef url) {
 		try {
 			URI gitUri = new URI(url.getRepoUrl().toString());
-			String token = getToken(gitUri.getHost());
-			if (token == null) {
-				throw new SpringCliException("Access token not provided for " + gitUri);
-			}
-			GitLabApi gitLabApi = new GitLabApi(gitUri.getScheme() + "://" + gitUri.getHost(), token);
-			String repo = gitUri.getPath().substring(1);
-			if (repo.endsWith(".git")) {
-				repo = repo.substring(0, repo.length() - 4);
-			}
+			GitLabApi gitLabApi = this.gitClientRegistry.getGitLabApi(gitUri);
+			String repo = getRepositoryName(gitUri);
+			String refSha = this.gitClientRegistry.resolveRef(url.getRepoUrl().toString(), url.getRef(),
+					() -> resolveGitLabRefSha(gitLabApi, repo, url.getRef()));
+			return retrieveCachedContents(url, refSha,
+					(targetPath) -> extractGitLabRepositoryContents(gitLabApi, repo, refSha, url, targetPath));
+		}
+		catch (IOException | URISyntaxException | GitLabApiException ex) {
+			throw new SpringCliException("Failed processing " + url, ex);
+		}
+	}
 
-			String refSha = null;
-			if (StringUtils.hasText(url.getRef())) {
-				List<Branch> branches = gitLabApi.getRepositoryApi().getBranches(repo, url.getRef());
-				if (branches.size() == 1) {
-					refSha = branches.get(0).getCommit().getId();
-				}
-				else {
-					List<Tag> tags = gitLabApi.getTagsApi().getTags(repo, TagOrderBy.NAME, SortOrder.ASC, url.getRef());
-					if (tags.size() == 1) {
-						refSha = tags.get(0).getCommit().getId();
-					}
-					else {
-						throw new SpringCliException("Not able to find ref " + url.getRef() + " for " + repo);
-					}
-				}
+	/**
+	 * Retrieve a single file from a GitLab repository using the raw file api.
+	 */
+	private String retrieveGitLabFileContents(GitRepoUrlRef url, String filePath) {
+		try {
+			URI gitUri = new URI(url.getRepoUrl().toString());
+			GitLabApi gitLabApi = this.gitClientRegistry.getGitLabApi(gitUri);
+			String repo = getRepositoryName(gitUri);
+			String refSha = this.gitClientRegistry.resolveRef(url.getRepoUrl().toString(), url.getRef(),
+					() -> resolveGitLabRefSha(gitLabApi, repo, url.getRef()));
+			String ref = (refSha != null) ? refSha : gitLabApi.getProjectApi().getProject(repo).getDefaultBranch();
+			try (InputStream inputStream = gitLabApi.getRepositoryFileApi().getRawFile(repo, ref, filePath)) {
+				return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
 			}
-			File tarfile = gitLabApi.getRepositoryApi()
-				.getRepositoryArchive(repo, refSha, targetPath.toFile(), ArchiveFormat.TAR_GZ);
-			logger.debug("Wrote GitLab Repo " + repo + " to " + tarfile.getAbsolutePath());
+		}
+		catch (IOException | URISyntaxException | GitLabApiException ex) {
+			throw new SpringCliException("Failed processing " + filePath + " from " + url, ex);
+		}
+	}
 
-			File targetFile = targetPath.toFile();
-			Archiver archiver = ArchiverFactory.createArchiver("tar", "gz");
+	/**
+	 * Resolve a ref, or a default branch if ref is not given, into a commit sha. The
+	 * commits api accepts both branch and tag names so a ref is resolved with a single
+	 * api call.
+	 */
+	@Nullable
+	private String resolveGitLabRefSha(GitLabApi gitLabApi, String repo, @Nullable String ref)
+			throws GitLabApiException {
+		if (StringUtils.hasText(ref)) {
 			try {
-				archiver.extract(tarfile, targetPath.toFile());
-			}
-			catch (Exception ex) {
-				throw new SpringCliException(String.format("Extraction error to %s", targetFile.getAbsolutePath()), ex);
+				return gitLabApi.getCommitsApi().getCommit(repo, ref).getId();
 			}
-
-			String zipDirName = tarfile.getName().substring(0, tarfile.getName().indexOf('.'));
-			if (!tarfile.delete()) {
-				logger.warn("Not able to delete zip file " + tarfile.getAbsolutePath());
-			}
-			Path contentPath;
-			if (StringUtils.hasText(url.getSubPath())) {
-				contentPath = Paths.get(targetPath.toFile().getAbsolutePath(), zipDirName, url.getSubPath());
+			catch (GitLabApiException ex) {
+				if (ex.getHttpStatus() == 404) {
+					throw new SpringCliException("Not able to find ref " + ref + " for " + repo);
+				}
+				throw ex;
 			}
-			else {
-				contentPath = Paths.get(targetPath.toFile().getAbsolutePath(), zipDirName);
+		}
+		// no ref means default branch, resolve it so that contents can be cached
+		try {
+			String defaultBranch = gitLabApi.getProjectApi().getProject(repo).getDefaultBranch();
+			if (StringUtils.hasText(defaultBranch)) {
+				return gitLabApi.getCommitsApi().getCommit(repo, defaultBranch).getId();
 			}
-			return contentPath;
 		}
-		catch (URISyntaxException | GitLabApiException ex) {
-			throw new SpringCliException("Failed processing " + url, ex);
+		catch (GitLabApiException ex) {
+			logger.debug("Unable to resolve default branch for " + repo, ex);
 		}
+		return null;
 	}
 
-	private String getToken(String host) {
-		Map<String, Host> hosts = userConfig.getHosts();
-		if (hosts != null) {
-			Host h = hosts.get(host);
-			if (h != null) {
-				return h.getOauthToken();
-			}
+	private Path extractGitLabRepositoryContents(GitLabApi gitLabApi, String repo, @Nullable String refSha,
+			GitRepoUrlRef url, Path targetPath) throws IOException {
+		try (InputStream inputStream = gitLabApi.getRepositoryApi()
+			.getRepositoryArchive(repo, refSha, ArchiveFormat.TAR_GZ)) {
+			TarGzExtractor.extract(inputStream, targetPath, url.getSubPath());
 		}
-		return null;
+		catch (GitLabApiException ex) {
+			throw new IOException("Unable to download archive for " + repo, ex);
+		}
+		logger.debug("Wrote GitLab Repo " + repo + " to " + targetPath);
+		return targetPath;
+	}
+
+	private static String getRepositoryName(URI gitUri) {
+		String repo = gitUri.getPath().substring(1);
+		if (repo.endsWith(".git")) {
+			repo = repo.substring(0, repo.length() - 4);
+		}
+		return repo;
+	}
+
+	/**
+	 * Retrieves repository contents into a given target directory.
+	 */
+	@FunctionalInterface
+	private interface ContentsRetriever {
+
+		Path retrieve(Path targetPath) throws IOException;
+
 	}
 
 }
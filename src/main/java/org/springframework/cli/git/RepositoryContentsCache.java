@@ -0,0 +1,295 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.git;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.support.cache.CacheDirectory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Persistent on-disk cache of retrieved repository contents. Entries are keyed by the
+ * repository url, the resolved commit sha and an optional sub path, which makes an entry
+ * immutable once written. Total size of the cache is bounded and least recently used
+ * entries are evicted first.
+ *
+ * <p>
+ * Entries are written into a staging directory and atomically moved into place so that
+ * concurrent cli processes never see a partially written entry.
+ */
+public class RepositoryContentsCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(RepositoryContentsCache.class);
+
+	private static final String CONTENTS_DIR_NAME = "contents";
+
+	private static final String ENTRY_FILE_NAME = "entry.properties";
+
+	private static final String STAGING_DIR_PREFIX = ".staging-";
+
+	private final Path cacheDir;
+
+	private final long maxSize;
+
+	/**
+	 * Create a new cache.
+	 * @param cacheDir the directory where entries are stored, {@code null} disables the
+	 * cache
+	 * @param maxSize the maximum total size in bytes of cached contents
+	 */
+	public RepositoryContentsCache(@Nullable Path cacheDir, long maxSize) {
+		Assert.isTrue(maxSize >= 0, "maxSize must not be negative");
+		this.cacheDir = cacheDir;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Create a cache which never stores anything.
+	 * @return disabled cache
+	 */
+	public static RepositoryContentsCache disabled() {
+		return new RepositoryContentsCache(null, 0);
+	}
+
+	/**
+	 * Return {@code true} if this cache stores entries.
+	 * @return if cache is enabled
+	 */
+	public boolean isEnabled() {
+		return this.cacheDir != null;
+	}
+
+	/**
+	 * Copy cached contents for a key into a target directory. Copying instead of handing
+	 * out the cached directory keeps callers free to modify and delete what they get.
+	 * @param key the cache key
+	 * @param targetPath the directory to copy contents into
+	 * @return {@code true} if there was a cache hit and contents were copied
+	 */
+	public boolean copyTo(Key key, Path targetPath) {
+		if (!isEnabled()) {
+			return false;
+		}
+		Path entryDir = this.cacheDir.resolve(key.id());
+		Path contentsDir = entryDir.resolve(CONTENTS_DIR_NAME);
+		if (!Files.isDirectory(contentsDir)) {
+			return false;
+		}
+		try {
+			FileSystemUtils.copyRecursively(contentsDir, targetPath);
+			Files.setLastModifiedTime(entryDir.resolve(ENTRY_FILE_NAME),
+					FileTime.fromMillis(System.currentTimeMillis()));
+			logger.debug("Cache hit for {} in {}", key, entryDir);
+			return true;
+		}
+		catch (IOException ex) {
+			// entry may have been evicted by another process while copying
+			logger.debug("Unable to copy cached contents for " + key, ex);
+			return false;
+		}
+	}
+
+	/**
+	 * Store contents for a key. Failures are logged and otherwise ignored as the cache
+	 * is only an optimization.
+	 * @param key the cache key
+	 * @param contentPath the directory with contents to store
+	 */
+	public void put(Key key, Path contentPath) {
+		if (!isEnabled()) {
+			return;
+		}
+		Path entryDir = this.cacheDir.resolve(key.id());
+		if (Files.isDirectory(entryDir)) {
+			return;
+		}
+		Path stagingDir = this.cacheDir.resolve(STAGING_DIR_PREFIX + UUID.randomUUID());
+		try {
+			Files.createDirectories(stagingDir);
+			FileSystemUtils.copyRecursively(contentPath, stagingDir.resolve(CONTENTS_DIR_NAME));
+			Properties properties = new Properties();
+			properties.setProperty("url", key.repoUrl());
+			properties.setProperty("sha", key.sha());
+			properties.setProperty("subPath", (key.subPath() != null) ? key.subPath() : "");
+			properties.setProperty("size", Long.toString(sizeOf(stagingDir.resolve(CONTENTS_DIR_NAME))));
+			try (OutputStream out = Files.newOutputStream(stagingDir.resolve(ENTRY_FILE_NAME))) {
+				properties.store(out, null);
+			}
+			moveIntoPlace(stagingDir, entryDir);
+			logger.debug("Cached {} in {}", key, entryDir);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to cache contents for " + key, ex);
+		}
+		finally {
+			deleteQuietly(stagingDir);
+		}
+		evict(key);
+	}
+
+	/**
+	 * Evict least recently used entries until total size is within the limit. Entry for
+	 * the given key is kept as it was just requested.
+	 * @param keep the key to keep
+	 */
+	void evict(Key keep) {
+		List<Entry> entries = new ArrayList<>();
+		try (Stream<Path> stream = Files.list(this.cacheDir)) {
+			stream.filter(p -> !p.getFileName().toString().startsWith(STAGING_DIR_PREFIX))
+				.filter(p -> !p.getFileName().toString().equals(keep.id()))
+				.map(this::readEntry)
+				.flatMap(Optional::stream)
+				.forEach(entries::add);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to list cache directory " + this.cacheDir, ex);
+			return;
+		}
+		long total = sizeOfEntry(this.cacheDir.resolve(keep.id()))
+				+ entries.stream().mapToLong(Entry::size).sum();
+		entries.sort(Comparator.comparing(Entry::lastAccess));
+		for (Entry entry : entries) {
+			if (total <= this.maxSize) {
+				break;
+			}
+			logger.debug("Evicting cache entry {}", entry.dir());
+			deleteQuietly(entry.dir());
+			total -= entry.size();
+		}
+	}
+
+	private Optional<Entry> readEntry(Path entryDir) {
+		Path entryFile = entryDir.resolve(ENTRY_FILE_NAME);
+		if (!Files.isRegularFile(entryFile)) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(new Entry(entryDir, sizeOfEntry(entryDir), Files.getLastModifiedTime(entryFile)));
+		}
+		catch (IOException ex) {
+			return Optional.empty();
+		}
+	}
+
+	private long sizeOfEntry(Path entryDir) {
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(entryDir.resolve(ENTRY_FILE_NAME))) {
+			properties.load(in);
+			return Long.parseLong(properties.getProperty("size", "0"));
+		}
+		catch (IOException | NumberFormatException ex) {
+			return 0;
+		}
+	}
+
+	private static long sizeOf(Path dir) throws IOException {
+		try (Stream<Path> stream = Files.walk(dir)) {
+			return stream.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+		}
+	}
+
+	private static void moveIntoPlace(Path stagingDir, Path entryDir) throws IOException {
+		try {
+			Files.move(stagingDir, entryDir, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (FileAlreadyExistsException ex) {
+			// other process cached same entry, nothing to do
+		}
+		catch (AtomicMoveNotSupportedException ex) {
+			if (!Files.exists(entryDir)) {
+				Files.move(stagingDir, entryDir);
+			}
+		}
+		catch (IOException ex) {
+			// some platforms report a non-empty target as generic failure
+			if (!Files.isDirectory(entryDir)) {
+				throw ex;
+			}
+		}
+	}
+
+	private static void deleteQuietly(Path path) {
+		try {
+			FileSystemUtils.deleteRecursively(path);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to delete " + path, ex);
+		}
+	}
+
+	private record Entry(Path dir, long size, FileTime lastAccess) {
+	}
+
+	/**
+	 * Key identifying immutable repository contents.
+	 *
+	 * @param repoUrl the repository url
+	 * @param sha the resolved commit sha
+	 * @param subPath the optional sub path within a repository
+	 */
+	public record Key(String repoUrl, String sha, @Nullable String subPath) {
+
+		public Key {
+			Assert.hasText(repoUrl, "repoUrl must be set");
+			Assert.hasText(sha, "sha must be set");
+			repoUrl = normalize(repoUrl);
+			subPath = StringUtils.hasText(subPath) ? StringUtils.trimTrailingCharacter(subPath, '/') : null;
+		}
+
+		/**
+		 * Gets a stable identifier usable as a directory name.
+		 * @return the key identifier
+		 */
+		public String id() {
+			return CacheDirectory
+				.id(this.repoUrl + "\n" + this.sha + "\n" + ((this.subPath != null) ? this.subPath : ""));
+		}
+
+		private static String normalize(String repoUrl) {
+			String url = repoUrl.toLowerCase(Locale.ROOT);
+			url = StringUtils.trimTrailingCharacter(url, '/');
+			if (url.endsWith(".git")) {
+				url = url.substring(0, url.length() - 4);
+			}
+			return url;
+		}
+
+	}
+
+}
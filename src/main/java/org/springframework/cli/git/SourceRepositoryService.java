@@ -16,8 +16,13 @@
 
 package org.springframework.cli.git;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
+import org.springframework.cli.SpringCliException;
+import org.springframework.util.FileSystemUtils;
+
 /**
  * @author Thomas Risberg
  */
@@ -27,9 +32,36 @@ public interface SourceRepositoryService {
 	 * Retrieve contents from a source repository.
 	 * @param sourceRepoUrl the URL of the repository to retrieve the content for.
 	 * Supported URL schemes are file:// and https://. The latter can refer to a GitHub
-	 * (host is github.com) repository or a GitLab repository.
+	 * (host is github.com) repository or a GitLab repository. Any git repository can be
+	 * used with a git:// URL or a URL prefixed with git+.
 	 * @return the full Path to where the contents have been retrieved
 	 */
 	Path retrieveRepositoryContents(String sourceRepoUrl);
 
+	/**
+	 * Retrieve contents of a single file from a source repository. Default
+	 * implementation retrieves all repository contents and reads the file from there,
+	 * implementations should retrieve only the file if they can.
+	 * @param sourceRepoUrl the URL of the repository to retrieve the file from
+	 * @param fileName the name of the file relative to the repository or its sub path
+	 * @return the file contents
+	 */
+	default String retrieveFileContents(String sourceRepoUrl, String fileName) {
+		Path path = retrieveRepositoryContents(sourceRepoUrl);
+		try {
+			return Files.readString(path.resolve(fileName));
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Unable to read " + fileName + " from " + sourceRepoUrl, ex);
+		}
+		finally {
+			try {
+				FileSystemUtils.deleteRecursively(path);
+			}
+			catch (IOException ex) {
+				// only a temporary directory
+			}
+		}
+	}
+
 }
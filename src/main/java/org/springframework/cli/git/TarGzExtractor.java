@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.git;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.SpringCliException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Extracts a gzipped tar archive of a repository as a stream. Entries are decoded and
+ * written to disk as they arrive so memory use stays bounded regardless of the archive
+ * size.
+ *
+ * <p>
+ * Repository archives from GitHub and GitLab contain a single top level directory named
+ * after the repository and commit. That directory is stripped, and if a sub path is
+ * given, only entries under it are written and the sub path itself is stripped as well.
+ * Contents end up directly in the target directory.
+ */
+public final class TarGzExtractor {
+
+	private static final Logger logger = LoggerFactory.getLogger(TarGzExtractor.class);
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private TarGzExtractor() {
+	}
+
+	/**
+	 * Extract a gzipped tar stream into a target directory.
+	 * @param inputStream the gzipped tar stream, not closed by this method
+	 * @param targetPath the directory to extract into
+	 * @param subPath the optional sub path within a repository to extract
+	 * @return statistics about written and skipped entries
+	 * @throws IOException if reading or writing fails
+	 */
+	public static Stats extract(InputStream inputStream, Path targetPath, @Nullable String subPath)
+			throws IOException {
+		Path root = targetPath.toAbsolutePath().normalize();
+		String prefix = StringUtils.hasText(subPath) ? StringUtils.trimTrailingCharacter(
+				StringUtils.trimLeadingCharacter(StringUtils.cleanPath(subPath), '/'), '/') + "/" : "";
+		boolean matched = false;
+		int entriesWritten = 0;
+		long bytesWritten = 0;
+		int entriesSkipped = 0;
+		long bytesSkipped = 0;
+		TarArchiveInputStream tarInputStream = new TarArchiveInputStream(
+				new GZIPInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE), BUFFER_SIZE));
+		TarArchiveEntry entry;
+		while ((entry = tarInputStream.getNextTarEntry()) != null) {
+			String name = relativeName(entry.getName(), prefix);
+			if (name == null) {
+				if (entry.isFile()) {
+					entriesSkipped++;
+					bytesSkipped += entry.getSize();
+				}
+				continue;
+			}
+			matched = true;
+			if (name.isEmpty()) {
+				continue;
+			}
+			Path path = root.resolve(name).normalize();
+			if (!path.startsWith(root)) {
+				throw new SpringCliException("Archive entry " + entry.getName() + " is outside of " + root);
+			}
+			if (entry.isDirectory()) {
+				Files.createDirectories(path);
+			}
+			else if (entry.isSymbolicLink()) {
+				createSymbolicLink(root, path, entry.getLinkName());
+			}
+			else if (entry.isFile()) {
+				Files.createDirectories(path.getParent());
+				bytesWritten += Files.copy(tarInputStream, path, StandardCopyOption.REPLACE_EXISTING);
+				entriesWritten++;
+				if ((entry.getMode() & 0100) != 0) {
+					path.toFile().setExecutable(true);
+				}
+			}
+		}
+		if (StringUtils.hasText(subPath) && !matched) {
+			throw new SpringCliException("Path '" + subPath + "' not found in repository archive");
+		}
+		Stats stats = new Stats(entriesWritten, bytesWritten, entriesSkipped, bytesSkipped);
+		logger.debug("Extracted archive into {}: {}", root, stats);
+		return stats;
+	}
+
+	/**
+	 * Strip the top level directory and a sub path prefix from an entry name.
+	 * @return relative name or {@code null} if entry is not under the prefix
+	 */
+	@Nullable
+	private static String relativeName(String entryName, String prefix) {
+		int index = entryName.indexOf('/');
+		if (index < 0) {
+			// the top level directory itself or a stray top level file
+			return null;
+		}
+		String name = entryName.substring(index + 1);
+		if (prefix.isEmpty()) {
+			return name;
+		}
+		if (name.equals(prefix) || name.equals(prefix.substring(0, prefix.length() - 1))) {
+			return "";
+		}
+		if (name.startsWith(prefix)) {
+			return name.substring(prefix.length());
+		}
+		return null;
+	}
+
+	static void createSymbolicLink(Path root, Path path, String linkName) throws IOException {
+		Path target = path.getParent().resolve(linkName).normalize();
+		if (!target.startsWith(root)) {
+			logger.debug("Skipping symbolic link {} pointing outside of {}", path, root);
+			return;
+		}
+		Files.createDirectories(path.getParent());
+		try {
+			Files.createSymbolicLink(path, Paths.get(linkName));
+		}
+		catch (UnsupportedOperationException | IOException ex) {
+			logger.debug("Unable to create symbolic link " + path, ex);
+		}
+	}
+
+	/**
+	 * Statistics of an extraction. Skipped entries are files outside of a requested sub
+	 * path which were never written to disk.
+	 *
+	 * @param entriesWritten the number of files written
+	 * @param bytesWritten the number of bytes written
+	 * @param entriesSkipped the number of files skipped
+	 * @param bytesSkipped the number of bytes skipped
+	 */
+	public record Stats(int entriesWritten, long bytesWritten, int entriesSkipped, long bytesSkipped) {
+
+	}
+
+}
@@ -16,17 +16,27 @@
 
 package org.springframework.cli.initializr;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 
 import org.springframework.cli.initializr.model.Metadata;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -83,6 +93,13 @@ public interface InitializrClient {
 		 */
 		Builder target(String baseUrl);
 
+		/**
+		 * Sets a cache used to keep metadata between cli invocations.
+		 * @param metadataCache the metadata cache
+		 * @return the builder
+		 */
+		Builder metadataCache(InitializrMetadataCache metadataCache);
+
 		/**
 		 * Builds an initializr client.
 		 * @return the initializr client
@@ -97,6 +114,8 @@ public interface InitializrClient {
 
 		private WebClient.Builder webClientBuilder;
 
+		private InitializrMetadataCache metadataCache = InitializrMetadataCache.disabled();
+
 		DefaultBuilder(WebClient.Builder webClientBuilder) {
 			this.webClientBuilder = webClientBuilder;
 		}
@@ -106,42 +125,59 @@ public interface InitializrClient {
 			return this;
 		}
 
+		public Builder metadataCache(InitializrMetadataCache metadataCache) {
+			Assert.notNull(metadataCache, "metadataCache must be set");
+			this.metadataCache = metadataCache;
+			return this;
+		}
+
 		public InitializrClient build() {
 			WebClient client = webClientBuilder.baseUrl(this.baseUrl).build();
-			return new DefaultInitializrClient(client, this.baseUrl);
+			return new DefaultInitializrClient(client, this.baseUrl, this.metadataCache);
 		}
 
 	}
 
 	class DefaultInitializrClient implements InitializrClient {
 
+		private static final Logger logger = LoggerFactory.getLogger(DefaultInitializrClient.class);
+
 		private static final MediaType INITIALIZER_MEDIA_TYPE = new MediaType("application",
 				"vnd.initializr.v2.2+json");
 
-		private WebClient client;
+		private static final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
 
-		private Metadata metadata;
+		private WebClient client;
 
-		private AtomicBoolean connected = new AtomicBoolean(false);
+		private volatile Metadata metadata;
 
 		private String baseUrl;
 
+		private final InitializrMetadataCache metadataCache;
+
 		public DefaultInitializrClient(WebClient client, String baseUrl) {
+			this(client, baseUrl, InitializrMetadataCache.disabled());
+		}
+
+		public DefaultInitializrClient(WebClient client, String baseUrl, InitializrMetadataCache metadataCache) {
 			this.client = client;
 			this.baseUrl = baseUrl;
+			this.metadataCache = metadataCache;
 		}
 
 		@Override
-		public void connect() {
-			if (connected.compareAndSet(false, true)) {
+		public synchronized void connect() {
+			if (metadata == null) {
 				updateMetadata();
 			}
 		}
 
 		@Override
 		public Metadata getMetadata() {
-			if (!connected.get()) {
+			Metadata metadata = this.metadata;
+			if (metadata == null) {
 				connect();
+				metadata = this.metadata;
 			}
 			return metadata;
 		}
@@ -183,13 +219,66 @@ public interface InitializrClient {
 			}
 		}
 
+		/**
+		 * Use cached metadata while it is fresh, otherwise revalidate it with a
+		 * conditional request. Stale metadata is used if initializr can't be reached.
+		 */
 		private void updateMetadata() {
-			this.metadata = client.get()
+			InitializrMetadataCache.Entry cached = metadataCache.load(baseUrl);
+			if (cached != null && metadataCache.isFresh(cached)) {
+				try {
+					this.metadata = parse(cached);
+					return;
+				}
+				catch (IllegalStateException ex) {
+					logger.debug("Ignoring unreadable cached metadata for " + baseUrl, ex);
+					cached = null;
+				}
+			}
+			InitializrMetadataCache.Entry entry;
+			try {
+				entry = fetchMetadata(cached);
+			}
+			catch (RuntimeException ex) {
+				if (cached == null) {
+					throw ex;
+				}
+				logger.warn("Unable to fetch metadata from {}, using cached metadata: {}", baseUrl, ex.getMessage());
+				entry = cached;
+			}
+			this.metadata = parse(entry);
+		}
+
+		private InitializrMetadataCache.Entry fetchMetadata(@Nullable InitializrMetadataCache.Entry cached) {
+			ResponseEntity<String> response = client.get()
 				.accept(INITIALIZER_MEDIA_TYPE)
+				.headers(headers -> {
+					if (cached != null && cached.etag() != null) {
+						headers.setIfNoneMatch(cached.etag());
+					}
+				})
 				.retrieve()
-				.toEntity(Metadata.class)
-				.block()
-				.getBody();
+				.toEntity(String.class)
+				.block();
+			if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && cached != null) {
+				logger.debug("Cached metadata for {} is still valid", baseUrl);
+				InitializrMetadataCache.Entry entry = cached.revalidated();
+				metadataCache.store(baseUrl, entry);
+				return entry;
+			}
+			InitializrMetadataCache.Entry entry = new InitializrMetadataCache.Entry(response.getBody(),
+					response.getHeaders().getFirst(HttpHeaders.ETAG), Instant.now());
+			metadataCache.store(baseUrl, entry);
+			return entry;
+		}
+
+		private static Metadata parse(InitializrMetadataCache.Entry entry) {
+			try {
+				return objectMapper.readValue(entry.body(), Metadata.class);
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Unable to parse initializr metadata", ex);
+			}
 		}
 
 	}
@@ -16,26 +16,52 @@
 
 package org.springframework.cli.initializr;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.web.reactive.function.client.WebClient;
 
 /**
- * Simple cache/factory implementation for {@link InitializrClient}.
+ * Simple cache/factory implementation for {@link InitializrClient}. Clients are shared
+ * between threads and the least recently used ones are evicted once there are more than
+ * a few of them.
  *
  * @author Janne Valkealahti
  */
 public class InitializrClientCache {
 
+	private static final Logger logger = LoggerFactory.getLogger(InitializrClientCache.class);
+
+	private static final int MAX_CLIENTS = 8;
+
 	private final WebClient.Builder webClientBuilder;
 
-	private final Map<String, InitializrClient> cache = new HashMap<>();
+	private final InitializrMetadataCache metadataCache;
+
+	private final Map<String, InitializrClient> cache = new LinkedHashMap<>(16, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, InitializrClient> eldest) {
+			return size() > MAX_CLIENTS;
+		}
+
+	};
 
 	public InitializrClientCache(WebClient.Builder webClientBuilder) {
+		this(webClientBuilder, InitializrMetadataCache.disabled());
+	}
+
+	public InitializrClientCache(WebClient.Builder webClientBuilder, InitializrMetadataCache metadataCache) {
 		Assert.notNull(webClientBuilder, "webClientBuilder must be set");
+		Assert.notNull(metadataCache, "metadataCache must be set");
 		this.webClientBuilder = webClientBuilder;
+		this.metadataCache = metadataCache;
 	}
 
 	/**
@@ -44,9 +70,37 @@ public class InitializrClientCache {
 	 * @return initializr client
 	 */
 	public InitializrClient get(String url) {
-		return cache.computeIfAbsent(url, baseUrl -> {
-			return InitializrClient.builder(webClientBuilder).target(baseUrl).build();
-		});
+		synchronized (cache) {
+			return cache.computeIfAbsent(url, baseUrl -> {
+				return InitializrClient.builder(webClientBuilder.clone())
+					.target(baseUrl)
+					.metadataCache(metadataCache)
+					.build();
+			});
+		}
+	}
+
+	/**
+	 * Load metadata of an initializr in the background so that it's ready when first
+	 * needed. Failures are only logged as metadata is loaded again on use.
+	 * @param url the initializr url
+	 * @return future completing when metadata is loaded
+	 */
+	public CompletableFuture<Void> prefetch(String url) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("initializr-prefetch-");
+		threadFactory.setDaemon(true);
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		threadFactory.newThread(() -> {
+			try {
+				get(url).connect();
+				future.complete(null);
+			}
+			catch (RuntimeException ex) {
+				logger.debug("Unable to prefetch metadata from " + url, ex);
+				future.completeExceptionally(ex);
+			}
+		}).start();
+		return future;
 	}
 
 }
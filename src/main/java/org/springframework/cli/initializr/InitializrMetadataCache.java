@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.initializr;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.support.cache.CacheDirectory;
+import org.springframework.cli.util.FileMaterializer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * On-disk cache of initializr metadata kept between cli invocations. Each entry holds
+ * the raw metadata document together with its {@code ETag} and the time it was last
+ * fetched or revalidated, so that fresh entries can be used without a request and stale
+ * ones can be revalidated with a conditional request.
+ */
+public class InitializrMetadataCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(InitializrMetadataCache.class);
+
+	private static final String ETAG = "etag";
+
+	private static final String FETCHED = "fetched";
+
+	private final Path cacheDir;
+
+	private final Duration timeToLive;
+
+	/**
+	 * Create a new cache.
+	 * @param cacheDir the directory where entries are stored, {@code null} disables the
+	 * cache
+	 * @param timeToLive how long an entry is used without revalidating it
+	 */
+	public InitializrMetadataCache(@Nullable Path cacheDir, Duration timeToLive) {
+		Assert.notNull(timeToLive, "timeToLive must be set");
+		this.cacheDir = cacheDir;
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Create a cache which never stores anything.
+	 * @return disabled cache
+	 */
+	public static InitializrMetadataCache disabled() {
+		return new InitializrMetadataCache(null, Duration.ZERO);
+	}
+
+	/**
+	 * Load the cached entry for an initializr.
+	 * @param baseUrl the initializr base url
+	 * @return the entry or {@code null} if there is none
+	 */
+	@Nullable
+	public Entry load(String baseUrl) {
+		if (this.cacheDir == null) {
+			return null;
+		}
+		String id = id(baseUrl);
+		Path bodyFile = this.cacheDir.resolve(id + ".json");
+		Path entryFile = this.cacheDir.resolve(id + ".properties");
+		if (!Files.isRegularFile(bodyFile) || !Files.isRegularFile(entryFile)) {
+			return null;
+		}
+		try {
+			Properties properties = new Properties();
+			try (InputStream in = Files.newInputStream(entryFile)) {
+				properties.load(in);
+			}
+			String fetched = properties.getProperty(FETCHED);
+			if (fetched == null) {
+				return null;
+			}
+			return new Entry(Files.readString(bodyFile), properties.getProperty(ETAG),
+					Instant.ofEpochMilli(Long.parseLong(fetched)));
+		}
+		catch (IOException | NumberFormatException ex) {
+			logger.debug("Unable to read cached metadata for " + baseUrl, ex);
+			return null;
+		}
+	}
+
+	/**
+	 * Store an entry for an initializr. Failures are logged and otherwise ignored as the
+	 * cache is only an optimization.
+	 * @param baseUrl the initializr base url
+	 * @param entry the entry
+	 */
+	public void store(String baseUrl, Entry entry) {
+		if (this.cacheDir == null) {
+			return;
+		}
+		String id = id(baseUrl);
+		try {
+			FileMaterializer.writeString(this.cacheDir.resolve(id + ".json"), entry.body());
+			Properties properties = new Properties();
+			if (entry.etag() != null) {
+				properties.setProperty(ETAG, entry.etag());
+			}
+			properties.setProperty(FETCHED, Long.toString(entry.fetched().toEpochMilli()));
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			properties.store(out, baseUrl);
+			// written last as an entry is only read when both files exist
+			FileMaterializer.writeString(this.cacheDir.resolve(id + ".properties"),
+					out.toString(StandardCharsets.ISO_8859_1));
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to cache metadata for " + baseUrl, ex);
+		}
+	}
+
+	/**
+	 * Return {@code true} if an entry can be used without revalidating it.
+	 * @param entry the entry
+	 * @return if the entry is fresh
+	 */
+	public boolean isFresh(Entry entry) {
+		return entry.fetched().plus(this.timeToLive).isAfter(Instant.now());
+	}
+
+	private static String id(String baseUrl) {
+		return CacheDirectory.id(StringUtils.trimTrailingCharacter(baseUrl, '/'));
+	}
+
+	/**
+	 * Cached metadata document.
+	 *
+	 * @param body the raw metadata document
+	 * @param etag the entity tag of the document, if any
+	 * @param fetched when the document was last fetched or revalidated
+	 */
+	public record Entry(String body, @Nullable String etag, Instant fetched) {
+
+		/**
+		 * Create a copy of this entry marked as revalidated now.
+		 * @return the revalidated entry
+		 */
+		public Entry revalidated() {
+			return new Entry(this.body, this.etag, Instant.now());
+		}
+
+	}
+
+}
@@ -29,8 +29,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 
-import org.apache.tools.ant.util.FileUtils;
-import org.codehaus.plexus.util.DirectoryScanner;
 import org.jline.utils.AttributedStringBuilder;
 import org.jline.utils.AttributedStyle;
 import org.openrewrite.ExecutionContext;
@@ -46,11 +44,13 @@ import org.springframework.cli.SpringCliException;
 import org.springframework.cli.config.SpringCliUserConfig;
 import org.springframework.cli.config.SpringCliUserConfig.CommandDefaults;
 import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
-import org.springframework.cli.config.SpringCliUserConfig.ProjectRepositories;
 import org.springframework.cli.config.SpringCliUserConfig.ProjectRepository;
+import org.springframework.cli.git.GitRepositoryMirrors;
 import org.springframework.cli.git.SourceRepositoryService;
 import org.springframework.cli.recipe.RecipeUtils;
-import org.springframework.cli.support.configfile.YamlConfigFile;
+import org.springframework.cli.support.catalog.ProjectCatalogIndex;
+import org.springframework.cli.support.catalog.ProjectNameIndex;
+import org.springframework.cli.util.FileMaterializer;
 import org.springframework.cli.util.IoUtils;
 import org.springframework.cli.util.JavaUtils;
 import org.springframework.cli.util.PackageNameUtils;
@@ -84,6 +84,8 @@ public class ProjectHandler {
 
 	private final TerminalMessage terminalMessage;
 
+	private final ProjectNameIndex projectNameIndex;
+
 	/**
 	 * Creates a project handler.
 	 * @param springCliUserConfig the user config
@@ -92,12 +94,27 @@ public class ProjectHandler {
 	 */
 	public ProjectHandler(SpringCliUserConfig springCliUserConfig, SourceRepositoryService sourceRepositoryService,
 			TerminalMessage terminalMessage) {
+		this(springCliUserConfig, sourceRepositoryService, terminalMessage,
+				new ProjectNameIndex(ProjectCatalogIndex.uncached(sourceRepositoryService), null));
+	}
+
+	/**
+	 * Creates a project handler.
+	 * @param springCliUserConfig the user config
+	 * @param sourceRepositoryService the repo service
+	 * @param terminalMessage the terminal to write user messages to
+	 * @param projectNameIndex the index resolving project names from catalogs
+	 */
+	public ProjectHandler(SpringCliUserConfig springCliUserConfig, SourceRepositoryService sourceRepositoryService,
+			TerminalMessage terminalMessage, ProjectNameIndex projectNameIndex) {
 		Assert.notNull(springCliUserConfig, "springCliUserConfig must be set");
 		Assert.notNull(sourceRepositoryService, "sourceRepositoryService must be set");
 		Assert.notNull(terminalMessage, "terminalMessage must be set");
+		Assert.notNull(projectNameIndex, "projectNameIndex must be set");
 		this.springCliUserConfig = springCliUserConfig;
 		this.sourceRepositoryService = sourceRepositoryService;
 		this.terminalMessage = terminalMessage;
+		this.projectNameIndex = projectNameIndex;
 	}
 
 	/**
@@ -197,6 +214,9 @@ public class ProjectHandler {
 		// Check it if is a URL, then use just the last part of the name as the 'project
 		// name'
 		try {
+			if (GitRepositoryMirrors.isGitUrl(from)) {
+				return GitRepositoryMirrors.getRepositoryName(from);
+			}
 			if (from.startsWith("https:")) {
 				URL url = new URL(from);
 				return new File(url.getPath()).getName();
@@ -293,29 +313,14 @@ public class ProjectHandler {
 		// Update GroupId, ArtfiactId, Version, name, Description as needed.
 		updatePom(repositoryContentsPath, projectInfo);
 
-		// Copy files
-		File fromDir = repositoryContentsPath.toFile();
-
-		DirectoryScanner ds = new DirectoryScanner();
-		ds.setBasedir(fromDir);
-		ds.scan();
-		String[] fileNames = ds.getIncludedFiles();
-
-		toDir.mkdirs();
-		for (String fileName : fileNames) {
-			File srcFile = new File(fromDir, fileName);
-			File destFile = new File(toDir, fileName);
-			logger.debug("Copy from " + srcFile + " to " + destFile);
-			try {
-				FileUtils.getFileUtils().copyFile(srcFile, destFile);
-				if (srcFile.canExecute()) {
-					destFile.setExecutable(true);
-				}
-			}
-			catch (IOException ex) {
-				throw new SpringCliException(
-						"Could not copy files from " + fromDir.getAbsolutePath() + " to " + toDir.getAbsolutePath());
-			}
+		// Move or copy files, retrieved contents are a private copy which is deleted
+		// afterwards so there is no need to keep them intact
+		try {
+			FileMaterializer.moveOrCopy(repositoryContentsPath, toDir.toPath());
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Could not copy files from " + repositoryContentsPath.toAbsolutePath()
+					+ " to " + toDir.getAbsolutePath(), ex);
 		}
 		try {
 			FileSystemUtils.deleteRecursively(repositoryContentsPath);
@@ -413,23 +418,9 @@ public class ProjectHandler {
 
 		List<ProjectCatalog> projectCatalogs = springCliUserConfig.getProjectCatalogs().getProjectCatalogs();
 		if (projectCatalogs != null) {
-			for (ProjectCatalog projectCatalog : projectCatalogs) {
-				String url = projectCatalog.getUrl();
-				Path path = sourceRepositoryService.retrieveRepositoryContents(url);
-				YamlConfigFile yamlConfigFile = new YamlConfigFile();
-				projectRepositories = yamlConfigFile
-					.read(Paths.get(path.toString(), "project-catalog.yml"), ProjectRepositories.class)
-					.getProjectRepositories();
-				try {
-					FileSystemUtils.deleteRecursively(path);
-				}
-				catch (IOException ex) {
-					logger.warn("Could not delete path " + path, ex);
-				}
-				url = findUrlFromProjectRepositories(projectName, projectRepositories);
-				if (url != null) {
-					return url;
-				}
+			String url = this.projectNameIndex.findUrl(projectCatalogs, projectName);
+			if (url != null) {
+				return url;
 			}
 		}
 
@@ -440,7 +431,7 @@ public class ProjectHandler {
 	@Nullable
 	private String getProjectRepositoryUrl(String from) {
 		// Check it if is a URL
-		if (from.startsWith("https:")) {
+		if (from.startsWith("https:") || GitRepositoryMirrors.isGitUrl(from)) {
 			return from;
 		}
 		else {
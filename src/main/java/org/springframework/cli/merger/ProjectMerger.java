@@ -28,7 +28,6 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -37,7 +36,6 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
-import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.FilenameUtils;
@@ -47,23 +45,18 @@ import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.model.Repository;
-import org.apache.tools.ant.util.FileUtils;
 import org.codehaus.plexus.util.DirectoryScanner;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.jline.utils.AttributedStringBuilder;
 import org.jline.utils.AttributedStyle;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Recipe;
-import org.openrewrite.RecipeRun;
 import org.openrewrite.Result;
 import org.openrewrite.SourceFile;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.InMemoryLargeSourceSet;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.AddImport;
-import org.openrewrite.java.Java17Parser;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J.Annotation;
 import org.openrewrite.maven.AddDependencyVisitor;
 import org.openrewrite.maven.AddManagedDependency;
@@ -71,7 +64,6 @@ import org.openrewrite.maven.AddPlugin;
 import org.openrewrite.maven.AddPluginDependency;
 import org.openrewrite.maven.AddRepository;
 import org.openrewrite.maven.ChangePropertyValue;
-import org.openrewrite.maven.MavenParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yaml.snakeyaml.DumperOptions;
@@ -81,7 +73,9 @@ import org.springframework.beans.factory.config.YamlMapFactoryBean;
 import org.springframework.beans.factory.config.YamlProcessor.ResolutionMethod;
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.recipe.AddManagedDependencyRecipeFactory;
+import org.springframework.cli.recipe.SourceParsers;
 import org.springframework.cli.util.ConversionUtils;
+import org.springframework.cli.util.FileMaterializer;
 import org.springframework.cli.util.PomReader;
 import org.springframework.cli.util.PropertyFileUtils;
 import org.springframework.cli.util.RefactorUtils;
@@ -145,19 +139,20 @@ public class ProjectMerger {
 		Model currentModel = pomReader.readPom(currentProjectPomPath.toFile());
 		Model toMergeModel = pomReader.readPom(toMergeProjectPomPath.toFile());
 
-		List<Path> paths = new ArrayList<>();
-		paths.add(currentProjectPomPath);
-		MavenParser mavenParser = MavenParser.builder().build();
-
 		MergerPreCheck.canMergeProject(currentModel, toMergeModel, this.toMergeProjectPath);
 
 		try {
-			// Maven merges
-			mergeMavenRepositories(currentProjectPomPath, currentModel, toMergeModel, paths, mavenParser);
-			mergeMavenProperties(currentProjectPomPath, toMergeModel);
-			mergeMavenDependencyManagement(currentProjectPomPath, toMergeModel, paths, mavenParser);
-			mergeMavenDependencies(currentProjectPomPath, currentModel, toMergeModel, paths, mavenParser);
-			mergeMavenPlugins(currentProjectPomPath, currentModel, toMergeModel, paths, mavenParser);
+			// Maven merges, pom is parsed once and all recipes are applied in memory
+			long start = System.nanoTime();
+			ParsedPom pom = ParsedPom.parse(currentProjectPomPath, this.currentProjectPath);
+			mergeMavenRepositories(currentModel, toMergeModel, pom);
+			mergeMavenProperties(toMergeModel, pom);
+			mergeMavenDependencyManagement(toMergeModel, pom);
+			mergeMavenDependencies(currentModel, toMergeModel, pom);
+			mergeMavenPlugins(currentModel, toMergeModel, pom);
+			pom.write();
+			logger.debug("Merged pom.xml with {} recipe runs and a single parse in {} ms", pom.getRecipeRuns(),
+					(System.nanoTime() - start) / 1_000_000);
 
 			// Code Refactoring
 			refactorToMergeCodebase();
@@ -179,14 +174,10 @@ public class ProjectMerger {
 
 		if (springBootApplicationFile.isPresent()) {
 			CollectAnnotationAndImportInformationRecipe collectAnnotationAndImportInformationRecipe = new CollectAnnotationAndImportInformationRecipe();
-			Consumer<Throwable> onError = e -> {
-				logger.error("error in javaParser execution", e);
-			};
-			InMemoryExecutionContext executionContext = new InMemoryExecutionContext(onError);
-			List<Path> paths = new ArrayList<>();
-			paths.add(springBootApplicationFile.get().toPath());
-			JavaParser javaParser = new Java17Parser.Builder().build();
-			List<SourceFile> compilationUnits = javaParser.parse(paths, null, executionContext).toList();
+			SourceParsers sourceParsers = SourceParsers.getInstance();
+			ExecutionContext executionContext = sourceParsers.createExecutionContext();
+			List<SourceFile> compilationUnits = sourceParsers
+				.parseJava(List.of(springBootApplicationFile.get().toPath()), null, executionContext);
 			collectAnnotationAndImportInformationRecipe.run(new InMemoryLargeSourceSet(compilationUnits),
 					executionContext);
 
@@ -210,11 +201,9 @@ public class ProjectMerger {
 			Optional<File> currentSpringBootApplicationFile = RootPackageFinder
 				.findSpringBootApplicationFile(this.currentProjectPath.toFile());
 			if (currentSpringBootApplicationFile.isPresent()) {
-				executionContext = new InMemoryExecutionContext(onError);
-				paths = new ArrayList<>();
-				paths.add(currentSpringBootApplicationFile.get().toPath());
-				javaParser = new Java17Parser.Builder().build();
-				compilationUnits = javaParser.parse(paths, null, executionContext).toList();
+				executionContext = sourceParsers.createExecutionContext();
+				compilationUnits = sourceParsers.parseJava(List.of(currentSpringBootApplicationFile.get().toPath()),
+						null, executionContext);
 				for (Entry<String, String> annotationImportEntry : annotationImportMap.entrySet()) {
 					String annotation = annotationImportEntry.getKey();
 					String importStatement = annotationImportEntry.getValue();
@@ -292,6 +281,7 @@ public class ProjectMerger {
 		String[] fileNames = ds.getIncludedFiles();
 		Optional<File> springBootApplicationFile = RootPackageFinder
 			.findSpringBootApplicationFile(this.toMergeProjectPath.toFile());
+		Map<Path, Path> filesToCopy = new HashMap<>();
 		for (String fileName : fileNames) {
 			File srcFile = new File(fromDir, fileName);
 			File destFile = new File(toDir, fileName);
@@ -330,10 +320,11 @@ public class ProjectMerger {
 			}
 			else {
 				logger.debug("Copying srcFile = " + srcFile + " to destFile = " + destFile);
-				FileUtils.getFileUtils().copyFile(srcFile, destFile);
+				filesToCopy.put(srcFile.toPath(), destFile.toPath());
 			}
 
 		}
+		FileMaterializer.copyFiles(filesToCopy);
 	}
 
 	private void mergeAndWriteYaml(File srcFile, File destFile) throws FileNotFoundException {
@@ -417,8 +408,7 @@ public class ProjectMerger {
 		}
 	}
 
-	private void mergeMavenPlugins(Path currentProjectPomPath, Model currentModel, Model toMergeModel, List<Path> paths,
-			MavenParser mavenParser) throws IOException {
+	private void mergeMavenPlugins(Model currentModel, Model toMergeModel, ParsedPom pom) {
 
 		Build currentModelBuild = currentModel.getBuild();
 		Build toMergeModelBuild = toMergeModel.getBuild();
@@ -437,13 +427,7 @@ public class ProjectMerger {
 			Recipe addPluginRecipe = new AddPlugin(plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(),
 					configuration, dependencies, null, null);
 
-			List<SourceFile> parsedPomFiles = mavenParser.parse(paths, this.currentProjectPath, getExecutionContext())
-				.toList();
-			List<Result> resultList = addPluginRecipe
-				.run(new InMemoryLargeSourceSet(parsedPomFiles), getExecutionContext())
-				.getChangeset()
-				.getAllResults();
-			updatePomFile(currentProjectPomPath, resultList);
+			pom.run(addPluginRecipe);
 
 			if (currentModelBuild.getPluginsAsMap()
 				.containsKey(Plugin.constructKey(plugin.getGroupId(), plugin.getArtifactId()))) {
@@ -452,13 +436,7 @@ public class ProjectMerger {
 						Recipe addPluginDependencies = new AddPluginDependency(plugin.getGroupId(),
 								plugin.getArtifactId(), dependency.getGroupId(), dependency.getArtifactId(),
 								dependency.getVersion());
-						parsedPomFiles = mavenParser.parse(paths, this.currentProjectPath, getExecutionContext())
-							.toList();
-						List<Result> result = addPluginDependencies
-							.run(new InMemoryLargeSourceSet(parsedPomFiles), getExecutionContext())
-							.getChangeset()
-							.getAllResults();
-						updatePomFile(currentProjectPomPath, result);
+						pom.run(addPluginDependencies);
 					}
 				}
 
@@ -466,8 +444,7 @@ public class ProjectMerger {
 		}
 	}
 
-	private void mergeMavenDependencies(Path currentProjectPomPath, Model currentModel, Model toMergeModel,
-			List<Path> paths, MavenParser mavenParser) throws IOException {
+	private void mergeMavenDependencies(Model currentModel, Model toMergeModel, ParsedPom pom) {
 		logger.debug("mergeMavenDependencies: Merging Maven Dependencies...");
 		List<Dependency> toMergeModelDependencies = toMergeModel.getDependencies();
 		List<Dependency> currentDependencies = currentModel.getDependencies();
@@ -477,9 +454,6 @@ public class ProjectMerger {
 				logger.debug("mergeMavenDependencies: Not merging dependency " + candidateDependency);
 			}
 			else {
-				List<SourceFile> parsedPomFiles = mavenParser
-					.parse(paths, this.currentProjectPath, getExecutionContext())
-					.toList();
 				String scope = candidateDependency.getScope();
 				if (scope == null) {
 					scope = "compile";
@@ -503,18 +477,13 @@ public class ProjectMerger {
 						"org.springframework.boot.SpringApplication", versionPattern, type, classifier, optional,
 						familyRegex, acceptTransitive);
 
-				List<Result> resultList = addDependency
-					.run(new InMemoryLargeSourceSet(parsedPomFiles), getExecutionContext())
-					.getChangeset()
-					.getAllResults();
-				if (!resultList.isEmpty()) {
+				if (pom.run(addDependency)) {
 					AttributedStringBuilder sb = new AttributedStringBuilder();
 					sb.style(sb.style().foreground(AttributedStyle.WHITE));
 					sb.append("Merging dependency " + candidateDependency.getGroupId() + ":"
 							+ candidateDependency.getArtifactId());
 					terminalMessage.print(sb.toAttributedString());
 				}
-				updatePomFile(currentProjectPomPath, resultList);
 			}
 		}
 	}
@@ -549,62 +518,41 @@ public class ProjectMerger {
 		return candidateRepositoryIdAlreadyPresent;
 	}
 
-	private void mergeMavenDependencyManagement(Path currentProjectPomPath, Model modelToMerge, List<Path> paths,
-			MavenParser mavenParser) throws IOException {
+	private void mergeMavenDependencyManagement(Model modelToMerge, ParsedPom pom) {
 		DependencyManagement dependencyManagement = modelToMerge.getDependencyManagement();
 		if (dependencyManagement != null) {
 			List<Dependency> dependencies = dependencyManagement.getDependencies();
 
 			for (Dependency dependency : dependencies) {
-				List<SourceFile> pomFiles = mavenParser.parse(paths, this.currentProjectPath, getExecutionContext())
-					.toList();
 				Recipe addManagedDependency = new AddManagedDependencyRecipeFactory().create(dependency);
-				List<Result> resultList = addManagedDependency
-					.run(new InMemoryLargeSourceSet(pomFiles), getExecutionContext())
-					.getChangeset()
-					.getAllResults();
-				if (!resultList.isEmpty()) {
+				if (pom.run(addManagedDependency)) {
 					AttributedStringBuilder sb = new AttributedStringBuilder();
 					sb.style(sb.style().foreground(AttributedStyle.WHITE));
 					sb.append("Merging dependency management section " + dependency.getGroupId() + ":"
 							+ dependency.getArtifactId());
 					terminalMessage.print(sb.toAttributedString());
 				}
-				updatePomFile(currentProjectPomPath, resultList);
 			}
 		}
 	}
 
-	private void mergeMavenProperties(Path currentProjectPomPath, Model modelToMerge) throws IOException {
-		List<Path> paths = new ArrayList<>();
-		paths.add(currentProjectPomPath);
-		MavenParser mavenParser = MavenParser.builder().build();
-
+	private void mergeMavenProperties(Model modelToMerge, ParsedPom pom) {
 		Properties propertiesToMerge = modelToMerge.getProperties();
 		Set<String> keysToMerge = propertiesToMerge.stringPropertyNames();
 
 		for (String keyToMerge : keysToMerge) {
 			ChangePropertyValue changePropertyValueRecipe = new ChangePropertyValue(keyToMerge,
 					propertiesToMerge.getProperty(keyToMerge), true, false);
-			// TODO - parse is expensive call, move out of loop?
-			List<SourceFile> pomFiles = mavenParser.parse(paths, this.currentProjectPath, getExecutionContext())
-				.toList();
-			RecipeRun recipeRun = changePropertyValueRecipe.run(new InMemoryLargeSourceSet(pomFiles),
-					getExecutionContext());
-			List<Result> resultList = recipeRun.getChangeset().getAllResults();
-			if (!resultList.isEmpty()) {
+			if (pom.run(changePropertyValueRecipe)) {
 				AttributedStringBuilder sb = new AttributedStringBuilder();
 				sb.style(sb.style().foreground(AttributedStyle.WHITE));
 				sb.append("Merging maven property key " + keyToMerge);
 				terminalMessage.print(sb.toAttributedString());
 			}
-			updatePomFile(currentProjectPomPath, resultList);
-
 		}
 	}
 
-	private void mergeMavenRepositories(Path currentProjectPomPath, Model currentModel, Model toMergeModel,
-			List<Path> paths, MavenParser mavenParser) throws IOException {
+	private void mergeMavenRepositories(Model currentModel, Model toMergeModel, ParsedPom pom) {
 		logger.debug("mergeMavenRepositories: Merging Maven Repositories...");
 		List<Repository> toMergeRepositories = toMergeModel.getRepositories();
 		List<Repository> currentRepositories = currentModel.getRepositories();
@@ -615,20 +563,13 @@ public class ProjectMerger {
 			else {
 				AddRepository recipeAddRepository = getRecipeAddRepository(candidateRepository.getId(),
 						candidateRepository.getUrl(), candidateRepository.getName(), false, false);
-				List<SourceFile> pomFiles = mavenParser.parse(paths, this.currentProjectPath, getExecutionContext())
-					.toList();
-				List<Result> resultList = recipeAddRepository
-					.run(new InMemoryLargeSourceSet(pomFiles), getExecutionContext())
-					.getChangeset()
-					.getAllResults();
-				if (!resultList.isEmpty()) {
+				if (pom.run(recipeAddRepository)) {
 					AttributedStringBuilder sb = new AttributedStringBuilder();
 					sb.style(sb.style().foreground(AttributedStyle.WHITE));
 					sb.append("Merging repository section " + candidateRepository.getId() + ", "
 							+ candidateRepository.getUrl());
 					terminalMessage.print(sb.toAttributedString());
 				}
-				updatePomFile(currentProjectPomPath, resultList);
 			}
 		}
 	}
@@ -652,24 +593,8 @@ public class ProjectMerger {
 		}
 	}
 
-	private void updatePomFile(Path currentProjectPomPath, List<Result> resultList) throws IOException {
-		if (resultList.isEmpty()) {
-			logger.debug("No update of pom.xml from from " + this.toMergeProjectPath);
-		}
-		for (Result result : resultList) {
-			// write updated file.
-			try (BufferedWriter sourceFileWriter = Files.newBufferedWriter(currentProjectPomPath,
-					StandardCharsets.UTF_8)) {
-				sourceFileWriter.write(result.getAfter().printAllTrimmed());
-			}
-		}
-	}
-
-	private ExecutionContext getExecutionContext() {
-		Consumer<Throwable> onError = e -> {
-			logger.error("error in javaParser execution", e);
-		};
-		return new InMemoryExecutionContext(onError);
+	private static ExecutionContext getExecutionContext() {
+		return SourceParsers.getInstance().createExecutionContext();
 	}
 
 	public static AddManagedDependency getRecipeAddManagedDependency(String groupId, String artifactId, String version,
@@ -705,4 +630,72 @@ public class ProjectMerger {
 		return new AddRepository(id, url, name, null, snapshotsEnabled, null, null, releasesEnabled, null, null);
 	}
 
+	/**
+	 * Parsed pom of the current project. Recipes are applied one after another to the in
+	 * memory source file so that the pom is parsed once and written once regardless of
+	 * how many elements are merged.
+	 */
+	static final class ParsedPom {
+
+		private final Path pomPath;
+
+		private SourceFile pom;
+
+		private boolean changed;
+
+		private int recipeRuns;
+
+		private ParsedPom(Path pomPath, SourceFile pom) {
+			this.pomPath = pomPath;
+			this.pom = pom;
+		}
+
+		static ParsedPom parse(Path pomPath, Path baseDir) {
+			List<SourceFile> pomFiles = SourceParsers.getInstance()
+				.parseMaven(List.of(pomPath), baseDir, getExecutionContext());
+			if (pomFiles.size() != 1) {
+				throw new SpringCliException("Could not parse " + pomPath);
+			}
+			return new ParsedPom(pomPath, pomFiles.get(0));
+		}
+
+		/**
+		 * Run a recipe against the current state of the pom.
+		 * @param recipe the recipe to run
+		 * @return {@code true} if recipe made changes
+		 */
+		boolean run(Recipe recipe) {
+			this.recipeRuns++;
+			List<Result> resultList = recipe.run(new InMemoryLargeSourceSet(List.of(this.pom)), getExecutionContext())
+				.getChangeset()
+				.getAllResults();
+			for (Result result : resultList) {
+				if (result.getAfter() != null) {
+					this.pom = result.getAfter();
+					this.changed = true;
+				}
+			}
+			return !resultList.isEmpty();
+		}
+
+		int getRecipeRuns() {
+			return this.recipeRuns;
+		}
+
+		/**
+		 * Write the pom if any recipe made changes.
+		 * @throws IOException if writing fails
+		 */
+		void write() throws IOException {
+			if (!this.changed) {
+				logger.debug("No update of pom.xml " + this.pomPath);
+				return;
+			}
+			try (BufferedWriter sourceFileWriter = Files.newBufferedWriter(this.pomPath, StandardCharsets.UTF_8)) {
+				sourceFileWriter.write(this.pom.printAllTrimmed());
+			}
+		}
+
+	}
+
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.recipe;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.Java17Parser;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.MavenParser;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.cache.MavenPomCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Shared OpenRewrite parsers which stay warm between commands of an interactive
+ * session.
+ *
+ * <p>
+ * Maven pom resolution results, like downloaded parent poms and boms, are kept in a
+ * shared {@link MavenPomCache} so that each command doesn't download them again. Parsed
+ * source files are cached and reused as long as none of the parsed files has changed on
+ * disk, which is detected by comparing last modified time and size.
+ *
+ * <p>
+ * Files under the temporary directory, such as downloaded projects being merged, are
+ * never seen again and aren't cached. Least recently used parses are dropped once the
+ * cache holds more than {@value #MAX_CACHED_FILES} source files.
+ */
+public final class SourceParsers {
+
+	private static final Logger logger = LoggerFactory.getLogger(SourceParsers.class);
+
+	private static final int MAX_CACHED_FILES = 1000;
+
+	private static final SourceParsers INSTANCE = new SourceParsers(Path.of(System.getProperty("java.io.tmpdir")));
+
+	private volatile MavenPomCache pomCache = new InMemoryMavenPomCache();
+
+	private final JavaParser javaParser = new Java17Parser.Builder().build();
+
+	private final Map<ParseKey, ParseResult> parseCache = new LinkedHashMap<>(16, 0.75f, true);
+
+	@Nullable
+	private final Path temporaryDir;
+
+	private int cachedFiles;
+
+	SourceParsers(@Nullable Path temporaryDir) {
+		this.temporaryDir = (temporaryDir != null) ? temporaryDir.toAbsolutePath().normalize() : null;
+	}
+
+	/**
+	 * Gets the shared instance.
+	 * @return the shared parsers
+	 */
+	public static SourceParsers getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Create an execution context which logs errors and uses the shared Maven pom cache.
+	 * @return a new execution context
+	 */
+	public ExecutionContext createExecutionContext() {
+		Consumer<Throwable> onError = e -> {
+			logger.error("error in parser execution", e);
+		};
+		ExecutionContext executionContext = new InMemoryExecutionContext(onError);
+		MavenExecutionContextView.view(executionContext).setPomCache(this.pomCache);
+		return executionContext;
+	}
+
+	/**
+	 * Parse Maven pom files.
+	 * @param paths the pom files
+	 * @param relativeTo the directory source paths are relative to
+	 * @param executionContext the execution context
+	 * @return the parsed pom files
+	 */
+	public List<SourceFile> parseMaven(List<Path> paths, @Nullable Path relativeTo,
+			ExecutionContext executionContext) {
+		return parse("maven", paths, relativeTo, executionContext, MavenParser.builder().build());
+	}
+
+	/**
+	 * Parse Java source files. All files are parsed together so that types declared in
+	 * them get attributed.
+	 * @param paths the java files
+	 * @param relativeTo the directory source paths are relative to
+	 * @param executionContext the execution context
+	 * @return the parsed compilation units
+	 */
+	public List<SourceFile> parseJava(List<Path> paths, @Nullable Path relativeTo, ExecutionContext executionContext) {
+		synchronized (this.javaParser) {
+			this.javaParser.reset();
+			return parse("java", paths, relativeTo, executionContext, this.javaParser);
+		}
+	}
+
+	/**
+	 * Clear cached parse results and pom resolutions.
+	 */
+	public void clear() {
+		synchronized (this.parseCache) {
+			this.parseCache.clear();
+			this.cachedFiles = 0;
+		}
+		this.pomCache = new InMemoryMavenPomCache();
+	}
+
+	private List<SourceFile> parse(String type, List<Path> paths, @Nullable Path relativeTo,
+			ExecutionContext executionContext, Parser parser) {
+		ParseKey key = new ParseKey(type, paths.stream().map(p -> p.toAbsolutePath().normalize()).toList(),
+				(relativeTo != null) ? relativeTo.toAbsolutePath().normalize() : null);
+		List<FileStamp> stamps = isTemporary(key.paths()) ? null : stamps(key.paths());
+		synchronized (this.parseCache) {
+			ParseResult cached = this.parseCache.get(key);
+			if (stamps != null && cached != null && cached.stamps().equals(stamps)) {
+				logger.debug("Reusing parsed {} files {}", type, paths);
+				return cached.sourceFiles();
+			}
+		}
+		long start = System.nanoTime();
+		List<SourceFile> sourceFiles = parser.parse(paths, relativeTo, executionContext).toList();
+		logger.debug("Parsed {} {} files in {} ms", paths.size(), type, (System.nanoTime() - start) / 1_000_000);
+		if (stamps != null) {
+			synchronized (this.parseCache) {
+				cache(key, new ParseResult(stamps, sourceFiles));
+			}
+		}
+		return sourceFiles;
+	}
+
+	private void cache(ParseKey key, ParseResult result) {
+		ParseResult previous = this.parseCache.put(key, result);
+		if (previous != null) {
+			this.cachedFiles -= previous.sourceFiles().size();
+		}
+		this.cachedFiles += result.sourceFiles().size();
+		Iterator<ParseResult> eldest = this.parseCache.values().iterator();
+		while (this.cachedFiles > MAX_CACHED_FILES && eldest.hasNext()) {
+			this.cachedFiles -= eldest.next().sourceFiles().size();
+			eldest.remove();
+		}
+	}
+
+	private boolean isTemporary(List<Path> paths) {
+		return this.temporaryDir != null && paths.stream().anyMatch((path) -> path.startsWith(this.temporaryDir));
+	}
+
+	@Nullable
+	private static List<FileStamp> stamps(List<Path> paths) {
+		List<FileStamp> stamps = new ArrayList<>(paths.size());
+		for (Path path : paths) {
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+				stamps.add(new FileStamp(attributes.lastModifiedTime(), attributes.size()));
+			}
+			catch (IOException ex) {
+				return null;
+			}
+		}
+		return stamps;
+	}
+
+	private record ParseKey(String type, List<Path> paths, @Nullable Path relativeTo) {
+	}
+
+	private record FileStamp(FileTime lastModified, long size) {
+	}
+
+	private record ParseResult(List<FileStamp> stamps, List<SourceFile> sourceFiles) {
+	}
+
+}
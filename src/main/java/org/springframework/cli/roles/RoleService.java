@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -58,6 +59,17 @@ public class RoleService {
 	}
 
 	public void updateRole(String roleName, String key, Object value) {
+		Map<String, Object> updates = new LinkedHashMap<>();
+		updates.put(key, value);
+		updateRole(roleName, updates);
+	}
+
+	/**
+	 * Update several variables of a role, reading and writing the role file only once.
+	 * @param roleName the name of the role, empty string implies the default role
+	 * @param updates the variables to set
+	 */
+	public void updateRole(String roleName, Map<String, Object> updates) {
 		createRolesDirectoryIfNecessary();
 
 		// The default role is always updatable, create on demand.
@@ -75,8 +87,9 @@ public class RoleService {
 
 		}
 		Map<String, Object> map = loadAsMap(roleName);
-		Object valueToUse = JavaUtils.inferType(value);
-		map.put(key, valueToUse);
+		for (Map.Entry<String, Object> entry : updates.entrySet()) {
+			map.put(entry.getKey(), JavaUtils.inferType(entry.getValue()));
+		}
 
 		DumperOptions dumperOptions = new DumperOptions();
 		dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
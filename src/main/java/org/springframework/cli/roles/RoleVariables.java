@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.roles;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.cli.util.JavaUtils;
+
+/**
+ * Snapshot of the variables of a role for the duration of a single command run. The
+ * role file is read once on first access, updates are visible immediately and are
+ * written back to disk together when {@link #flush()} is called.
+ */
+public class RoleVariables {
+
+	private final RoleService roleService;
+
+	private final String roleName;
+
+	private Map<String, Object> variables;
+
+	private final Map<String, Object> pendingUpdates = new LinkedHashMap<>();
+
+	public RoleVariables(RoleService roleService, String roleName) {
+		this.roleService = roleService;
+		this.roleName = roleName;
+	}
+
+	/**
+	 * Gets the current variables, including updates not yet flushed.
+	 * @return an unmodifiable view of the variables
+	 */
+	public synchronized Map<String, Object> getVariables() {
+		return Collections.unmodifiableMap(load());
+	}
+
+	/**
+	 * Determine if a variable is defined.
+	 * @param name the variable name
+	 * @return true if the variable is defined
+	 */
+	public synchronized boolean isDefined(String name) {
+		return load().containsKey(name);
+	}
+
+	/**
+	 * Set a variable. The value is visible right away and written to disk on
+	 * {@link #flush()}.
+	 * @param key the variable name
+	 * @param value the variable value
+	 */
+	public synchronized void put(String key, Object value) {
+		load().put(key, JavaUtils.inferType(value));
+		// the role service infers the type again when writing, so it gets the raw value
+		this.pendingUpdates.put(key, value);
+	}
+
+	/**
+	 * Write pending updates to the role file.
+	 */
+	public synchronized void flush() {
+		if (this.pendingUpdates.isEmpty()) {
+			return;
+		}
+		this.roleService.updateRole(this.roleName, this.pendingUpdates);
+		this.pendingUpdates.clear();
+	}
+
+	private Map<String, Object> load() {
+		if (this.variables == null) {
+			Map<String, Object> map = this.roleService.loadAsMap(this.roleName);
+			this.variables = (map != null) ? new LinkedHashMap<>(map) : new LinkedHashMap<>();
+		}
+		return this.variables;
+	}
+
+}
@@ -22,12 +22,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -40,7 +47,9 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.roles.RoleService;
+import org.springframework.cli.roles.RoleVariables;
 import org.springframework.cli.runtime.engine.actions.Action;
+import org.springframework.cli.runtime.engine.actions.ActionFootprint;
 import org.springframework.cli.runtime.engine.actions.ActionFileReader;
 import org.springframework.cli.runtime.engine.actions.ActionFileVisitor;
 import org.springframework.cli.runtime.engine.actions.ActionsFile;
@@ -57,14 +66,19 @@ import org.springframework.cli.runtime.engine.actions.handlers.GenerateActionHan
 import org.springframework.cli.runtime.engine.actions.handlers.InjectActionHandler;
 import org.springframework.cli.runtime.engine.actions.handlers.InjectMavenActionHandler;
 import org.springframework.cli.runtime.engine.actions.handlers.VarsActionHandler;
+import org.springframework.cli.runtime.engine.model.LazyModel;
 import org.springframework.cli.runtime.engine.model.ModelPopulator;
 import org.springframework.cli.runtime.engine.spel.SpELCondition;
 import org.springframework.cli.runtime.engine.spel.SpelFunctions;
 import org.springframework.cli.runtime.engine.templating.HandlebarsTemplateEngine;
 import org.springframework.cli.runtime.engine.templating.TemplateEngine;
+import org.springframework.cli.util.BufferedTerminalMessage;
 import org.springframework.cli.util.IoUtils;
 import org.springframework.cli.util.NamingUtils;
 import org.springframework.cli.util.TerminalMessage;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.shell.command.CommandContext;
 import org.springframework.shell.command.CommandParser.CommandParserResult;
 import org.springframework.util.StringUtils;
@@ -76,6 +90,8 @@ public class DynamicCommand {
 
 	private static final Logger logger = LoggerFactory.getLogger(DynamicCommand.class);
 
+	private static final int MAX_PARALLEL_ACTIONS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
 	private final String commandName;
 
 	private final String subCommandName;
@@ -104,7 +120,7 @@ public class DynamicCommand {
 	 * @param commandContext the command context for the dynamic command.
 	 */
 	public void execute(CommandContext commandContext) {
-		Map<String, Object> model = new HashMap<>();
+		Map<String, Object> model = new LazyModel();
 		addMatchedOptions(model, commandContext);
 		addRoleVariables(model, commandContext);
 		runCommand(IoUtils.getWorkingDirectory(), ".spring", "commands", model);
@@ -189,7 +205,9 @@ public class DynamicCommand {
 		return usedDefaultValue;
 	}
 
-	public void runCommand(Path workingDirectory, String springDir, String commandsDir, Map<String, Object> model) {
+	public void runCommand(Path workingDirectory, String springDir, String commandsDir,
+			Map<String, Object> commandModel) {
+		LazyModel model = (commandModel instanceof LazyModel lazyModel) ? lazyModel : new LazyModel(commandModel);
 		Path dynamicSubCommandPath;
 		if (StringUtils.hasText(springDir) && StringUtils.hasText(commandsDir)) {
 			dynamicSubCommandPath = Paths.get(workingDirectory.toString(), springDir, commandsDir)
@@ -208,9 +226,7 @@ public class DynamicCommand {
 		// Enrich the model with detected features of the project, e.g. maven artifact
 		// name
 		if (this.modelPopulators != null) {
-			for (ModelPopulator modelPopulator : modelPopulators) {
-				modelPopulator.contributeToModel(workingDirectory, model);
-			}
+			populateModel(workingDirectory, model);
 		}
 
 		final Map<Path, ActionsFile> commandActionFiles = findCommandActionFiles(dynamicSubCommandPath);
@@ -228,111 +244,313 @@ public class DynamicCommand {
 			sb.append(ex.getMessage());
 			terminalMessage.print(sb.toAttributedString());
 		}
+		finally {
+			// the command instance outlives the run, don't keep its model around
+			this.templateEngine.clearContext();
+			if (logger.isDebugEnabled()) {
+				logger.debug("Lazy model values used by command '{} {}' with resolution time in ms: {}",
+						this.commandName, this.subCommandName, model.getMaterialized());
+			}
+		}
 
 	}
 
+	/**
+	 * Run model populators concurrently, each on its own copy of the model. Changes are
+	 * then applied in populator order, which gives the same result as running them one
+	 * after another as long as populators contribute different keys.
+	 */
+	private void populateModel(Path workingDirectory, LazyModel model) {
+		List<CompletableFuture<LazyModel>> contributions = new ArrayList<>();
+		for (ModelPopulator modelPopulator : this.modelPopulators) {
+			LazyModel modelCopy = new LazyModel(model);
+			contributions.add(CompletableFuture.supplyAsync(() -> {
+				modelPopulator.contributeToModel(workingDirectory, modelCopy);
+				return modelCopy;
+			}));
+		}
+		for (CompletableFuture<LazyModel> contribution : contributions) {
+			LazyModel contributed;
+			try {
+				contributed = contribution.join();
+			}
+			catch (CompletionException ex) {
+				if (ex.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw ex;
+			}
+			for (Entry<String, Object> entry : contributed.entrySet()) {
+				if (!model.containsKey(entry.getKey()) || model.getRaw(entry.getKey()) != entry.getValue()) {
+					model.put(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+	}
+
 	private void processCommandActionFiles(Map<Path, ActionsFile> commandActionFiles, Path cwd,
 			Path dynamicSubCommandPath, Map<String, Object> model) {
 
-		for (Entry<Path, ActionsFile> kv : commandActionFiles.entrySet()) {
-			Path path = kv.getKey();
-			ActionsFile actionsFile = kv.getValue();
+		// Handler, functions, evaluation context and role variables are shared by all
+		// actions of this run
+		ExecActionHandler execActionHandler = new ExecActionHandler(templateEngine, model, dynamicSubCommandPath,
+				this.terminalMessage);
+		// TODO load from default role for now, later a list of roles
+		RoleVariables roleVariables = new RoleVariables(new RoleService(cwd), "");
+		SpelFunctions spelFunctions = new SpelFunctions(execActionHandler, roleVariables);
+		StandardEvaluationContext evaluationContext = SpELCondition.createEvaluationContext(null);
+		try {
+			processActions(commandActionFiles, model, cwd, dynamicSubCommandPath, execActionHandler, roleVariables,
+					spelFunctions, evaluationContext);
+		}
+		finally {
+			roleVariables.flush();
+		}
+	}
 
-			List<Action> actions = actionsFile.getActions();
-			if (actions.isEmpty()) {
-				terminalMessage.print("No actions to execute in " + path.toAbsolutePath());
-				continue;
-			}
+	private void processActions(Map<Path, ActionsFile> commandActionFiles, Map<String, Object> model, Path cwd,
+			Path dynamicSubCommandPath, ExecActionHandler execActionHandler, RoleVariables roleVariables,
+			SpelFunctions spelFunctions, StandardEvaluationContext evaluationContext) {
 
-			for (Action action : actions) {
+		// Consecutive maven injections are collected and applied to pom.xml together
+		// before the next action which may depend on the pom, the same goes for text
+		// injections and the files they inject into
+		InjectMavenActionHandler mavenInjections = new InjectMavenActionHandler(templateEngine, model, cwd,
+				this.terminalMessage);
+		InjectActionHandler injections = new InjectActionHandler(templateEngine, model, cwd, this.terminalMessage);
+		try {
+			for (Entry<Path, ActionsFile> kv : commandActionFiles.entrySet()) {
+				Path path = kv.getKey();
+				ActionsFile actionsFile = kv.getValue();
+
+				List<Action> actions = actionsFile.getActions();
+				if (actions.isEmpty()) {
+					terminalMessage.print("No actions to execute in " + path.toAbsolutePath());
+					continue;
+				}
 
-				RoleService roleService = new RoleService(cwd);
-				// TODO load from default role for now, later a list of roles
-				Map<String, Object> varMap = roleService.loadAsMap("");
-				model.putAll(varMap);
-
-				String ifExpression = action.getIfExpression();
-				if (StringUtils.hasText(ifExpression)) {
-					// Prepare to execute expression evaluation
-					String ifExpressionToUse = this.templateEngine.process(ifExpression, model);
-					ExecActionHandler execActionHandler = new ExecActionHandler(templateEngine, model,
-							dynamicSubCommandPath, this.terminalMessage);
-					model.put("functions", new SpelFunctions(execActionHandler, cwd));
-
-					SpELCondition condition = new SpELCondition(ifExpressionToUse);
-					boolean evaluationResult = condition.evaluate(model);
-					logger.debug("If Expression = " + ifExpression);
-					logger.debug("Evaluation Result " + evaluationResult);
-					if (!evaluationResult) {
-						logger.debug("Not execution action, evaluation result = false");
+				if (actionsFile.isParallel()) {
+					mavenInjections.exec();
+					injections.exec();
+					processActionsInParallel(actions, model, cwd, dynamicSubCommandPath, roleVariables,
+							evaluationContext);
+					continue;
+				}
+
+				for (Action action : actions) {
+
+					model.putAll(roleVariables.getVariables());
+
+					if (!isMavenInjection(action) || usesFunctions(action)) {
+						mavenInjections.exec();
+					}
+					if (action.getInject() == null || usesFunctions(action)) {
+						injections.exec();
+					}
+
+					model.put("functions", spelFunctions);
+					if (!evaluateCondition(action, model, evaluationContext)) {
 						continue;
 					}
-				}
 
-				Generate generate = action.getGenerate();
-				if (generate != null) {
-					GenerateActionHandler generateActionHandler = new GenerateActionHandler(templateEngine, model, cwd,
-							dynamicSubCommandPath, terminalMessage);
-					generateActionHandler.execute(generate);
+					executeAction(action, model, cwd, dynamicSubCommandPath, execActionHandler, mavenInjections,
+							injections, roleVariables, this.terminalMessage);
 				}
+			}
+		}
+		finally {
+			try {
+				mavenInjections.exec();
+			}
+			finally {
+				injections.exec();
+			}
+		}
+	}
 
-				Inject inject = action.getInject();
-				if (inject != null) {
-					InjectActionHandler injectActionHandler = new InjectActionHandler(templateEngine, model, cwd,
-							terminalMessage);
-					injectActionHandler.execute(inject);
-				}
+	private static boolean isMavenInjection(Action action) {
+		return action.getGenerate() == null && action.getInject() == null && action.getExec() == null
+				&& action.getVars() == null;
+	}
 
-				InjectMavenDependency injectMavenDependency = action.getInjectMavenDependency();
-				if (injectMavenDependency != null) {
-					InjectMavenActionHandler injectMavenActionHandler = new InjectMavenActionHandler(templateEngine,
-							model, cwd, terminalMessage);
-					injectMavenActionHandler.injectDependency(injectMavenDependency);
-					injectMavenActionHandler.exec();
-				}
+	private static boolean usesFunctions(Action action) {
+		// conditions may run shell commands which could read the pom or injected files
+		String ifExpression = action.getIfExpression();
+		return ifExpression != null && ifExpression.contains("functions");
+	}
 
-				InjectMavenBuildPlugin injectMavenBuildPlugin = action.getInjectMavenBuildPlugin();
-				if (injectMavenBuildPlugin != null) {
-					InjectMavenActionHandler injectMavenActionHandler = new InjectMavenActionHandler(templateEngine,
-							model, cwd, terminalMessage);
-					injectMavenActionHandler.injectBuildPlugin(injectMavenBuildPlugin);
-					injectMavenActionHandler.exec();
+	/**
+	 * Run actions which don't depend on each other concurrently. Actions are scheduled in
+	 * declaration order, each one waits for the earlier actions it depends on as
+	 * described by {@link ActionFootprint}. Output of each action is buffered and printed
+	 * in declaration order. Conditions are evaluated once the dependencies of an action
+	 * have completed and {@code vars} actions run alone as they change the model and may
+	 * ask questions.
+	 */
+	private void processActionsInParallel(List<Action> actions, Map<String, Object> model, Path cwd,
+			Path dynamicSubCommandPath, RoleVariables roleVariables, StandardEvaluationContext evaluationContext) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("action-");
+		threadFactory.setDaemon(true);
+		ExecutorService executor = Executors.newFixedThreadPool(MAX_PARALLEL_ACTIONS, threadFactory);
+		List<ScheduledAction> scheduledActions = new ArrayList<>();
+		model.putAll(roleVariables.getVariables());
+		try {
+			for (Action action : actions) {
+				ActionFootprint footprint = ActionFootprint.of(action, this.templateEngine, model, cwd);
+				for (ScheduledAction scheduledAction : scheduledActions) {
+					if (footprint.dependsOn(scheduledAction.footprint())) {
+						awaitAction(scheduledAction);
+					}
 				}
 
-				InjectMavenDependencyManagement injectMavenDependencyManagement = action
-					.getInjectMavenDependencyManagement();
-				if (injectMavenDependencyManagement != null) {
-					InjectMavenActionHandler injectMavenActionHandler = new InjectMavenActionHandler(templateEngine,
-							model, cwd, terminalMessage);
-					injectMavenActionHandler.injectDependencyManagement(injectMavenDependencyManagement);
-					injectMavenActionHandler.exec();
+				BufferedTerminalMessage output = new BufferedTerminalMessage();
+				ExecActionHandler execActionHandler = new ExecActionHandler(this.templateEngine, model,
+						dynamicSubCommandPath, output);
+				Map<String, Object> conditionModel = new LazyModel(model);
+				conditionModel.put("functions", new SpelFunctions(execActionHandler, roleVariables));
+				if (!evaluateCondition(action, conditionModel, evaluationContext)) {
+					scheduledActions
+						.add(new ScheduledAction(footprint, CompletableFuture.completedFuture(null), output));
+					continue;
 				}
 
-				InjectMavenRepository injectMavenRepository = action.getInjectMavenRepository();
-				if (injectMavenRepository != null) {
-					InjectMavenActionHandler injectMavenActionHandler = new InjectMavenActionHandler(templateEngine,
-							model, cwd, terminalMessage);
-					injectMavenActionHandler.injectRepository(injectMavenRepository);
-					injectMavenActionHandler.exec();
+				if (action.getVars() != null) {
+					// all earlier actions completed as vars is a barrier
+					flushOutput(scheduledActions);
+					output.flushTo(this.terminalMessage);
+					executeAction(action, model, cwd, dynamicSubCommandPath, execActionHandler, null, null,
+							roleVariables, this.terminalMessage);
+					model.putAll(roleVariables.getVariables());
+					continue;
 				}
 
-				Exec exec = action.getExec();
-				if (exec != null) {
-					ExecActionHandler execActionHandler = new ExecActionHandler(templateEngine, model,
-							dynamicSubCommandPath, terminalMessage);
-					Map<String, Object> outputs = new HashMap<>();
-					execActionHandler.executeShellCommand(exec, outputs);
-				}
+				Future<?> future = executor.submit(() -> executeAction(action, model, cwd, dynamicSubCommandPath,
+						execActionHandler, null, null, roleVariables, output));
+				scheduledActions.add(new ScheduledAction(footprint, future, output));
+				flushOutput(scheduledActions);
+			}
+			for (ScheduledAction scheduledAction : scheduledActions) {
+				awaitAction(scheduledAction);
+			}
+		}
+		finally {
+			flushOutput(scheduledActions);
+			executor.shutdownNow();
+		}
+	}
 
-				Vars vars = action.getVars();
-				if (vars != null) {
-					VarsActionHandler varsActionHandler = new VarsActionHandler(templateEngine, model, cwd,
-							dynamicSubCommandPath, terminalMessage, terminalOptional.get());
-					varsActionHandler.execute(vars);
-				}
+	private boolean evaluateCondition(Action action, Map<String, Object> model,
+			StandardEvaluationContext evaluationContext) {
+		String ifExpression = action.getIfExpression();
+		if (!StringUtils.hasText(ifExpression)) {
+			return true;
+		}
+		// Prepare to execute expression evaluation
+		String ifExpressionToUse = this.templateEngine.process(ifExpression, model);
+		SpELCondition condition = new SpELCondition(ifExpressionToUse);
+		boolean evaluationResult = condition.evaluate(model, evaluationContext);
+		logger.debug("If Expression = " + ifExpression);
+		logger.debug("Evaluation Result " + evaluationResult);
+		if (!evaluationResult) {
+			logger.debug("Not execution action, evaluation result = false");
+		}
+		return evaluationResult;
+	}
+
+	/**
+	 * Execute an action. Maven and text injections are added to the given handlers if
+	 * given, otherwise they are applied right away.
+	 */
+	private void executeAction(Action action, Map<String, Object> model, Path cwd, Path dynamicSubCommandPath,
+			ExecActionHandler execActionHandler, @Nullable InjectMavenActionHandler mavenInjections,
+			@Nullable InjectActionHandler injections, RoleVariables roleVariables, TerminalMessage terminalMessage) {
+		InjectMavenActionHandler injectMavenActionHandler = (mavenInjections != null) ? mavenInjections
+				: new InjectMavenActionHandler(templateEngine, model, cwd, terminalMessage);
+
+		Generate generate = action.getGenerate();
+		if (generate != null) {
+			GenerateActionHandler generateActionHandler = new GenerateActionHandler(templateEngine, model, cwd,
+					dynamicSubCommandPath, terminalMessage);
+			generateActionHandler.execute(generate);
+		}
+
+		Inject inject = action.getInject();
+		if (inject != null) {
+			if (injections != null) {
+				injections.add(inject);
+			}
+			else {
+				new InjectActionHandler(templateEngine, model, cwd, terminalMessage).execute(inject);
 			}
 		}
 
+		InjectMavenDependency injectMavenDependency = action.getInjectMavenDependency();
+		if (injectMavenDependency != null) {
+			injectMavenActionHandler.injectDependency(injectMavenDependency);
+		}
+
+		InjectMavenBuildPlugin injectMavenBuildPlugin = action.getInjectMavenBuildPlugin();
+		if (injectMavenBuildPlugin != null) {
+			injectMavenActionHandler.injectBuildPlugin(injectMavenBuildPlugin);
+		}
+
+		InjectMavenDependencyManagement injectMavenDependencyManagement = action.getInjectMavenDependencyManagement();
+		if (injectMavenDependencyManagement != null) {
+			injectMavenActionHandler.injectDependencyManagement(injectMavenDependencyManagement);
+		}
+
+		InjectMavenRepository injectMavenRepository = action.getInjectMavenRepository();
+		if (injectMavenRepository != null) {
+			injectMavenActionHandler.injectRepository(injectMavenRepository);
+		}
+
+		if (mavenInjections == null) {
+			injectMavenActionHandler.exec();
+		}
+
+		Exec exec = action.getExec();
+		if (exec != null) {
+			Map<String, Object> outputs = new HashMap<>();
+			execActionHandler.executeShellCommand(exec, outputs);
+		}
+
+		Vars vars = action.getVars();
+		if (vars != null) {
+			VarsActionHandler varsActionHandler = new VarsActionHandler(templateEngine, model, roleVariables,
+					dynamicSubCommandPath, terminalMessage, terminalOptional.get());
+			varsActionHandler.execute(vars);
+		}
+	}
+
+	private static void awaitAction(ScheduledAction scheduledAction) {
+		try {
+			scheduledAction.future().get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SpringCliException("Interrupted while waiting for action to complete", ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new SpringCliException("Action failed: " + ex.getCause().getMessage(), ex.getCause());
+		}
+	}
+
+	/**
+	 * Print output of completed actions up to the first one still running.
+	 */
+	private void flushOutput(List<ScheduledAction> scheduledActions) {
+		for (ScheduledAction scheduledAction : scheduledActions) {
+			if (!scheduledAction.future().isDone()) {
+				return;
+			}
+			scheduledAction.output().flushTo(this.terminalMessage);
+		}
+	}
+
+	private record ScheduledAction(ActionFootprint footprint, Future<?> future, BufferedTerminalMessage output) {
 	}
 
 	private Map<Path, ActionsFile> findCommandActionFiles(Path dynamicSubCommandPath) {
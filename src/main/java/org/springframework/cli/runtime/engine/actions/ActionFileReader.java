@@ -22,8 +22,12 @@ import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.core.JsonLocation;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -38,8 +42,19 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.util.FileCopyUtils;
 
+/**
+ * Reads {@link ActionsFile}s from YAML. Parsed files are cached by path and validated
+ * against last modified time and size so that running the same command again doesn't
+ * deserialize unchanged action files.
+ */
 public class ActionFileReader {
 
+	private static final ObjectMapper mapper = new ObjectMapper(new YAMLFactory())
+		.setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE)
+		.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	private static final Map<Path, CachedActionsFile> cache = new ConcurrentHashMap<>();
+
 	public Optional<ActionsFile> read(Path pathToFile) {
 		boolean isYamlFile = false;
 		String fileExtension = FileExtensionUtils.getExtension(pathToFile.toString());
@@ -51,15 +66,27 @@ public class ActionFileReader {
 		if (!isYamlFile) {
 			return Optional.empty();
 		}
-		return Optional.of(read(new FileSystemResource(pathToFile)));
+		Path path = pathToFile.toAbsolutePath().normalize();
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(path, BasicFileAttributes.class);
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Could not read resource " + pathToFile + " as a String.", ex);
+		}
+		CachedActionsFile cached = cache.get(path);
+		if (cached != null && cached.lastModified().equals(attributes.lastModifiedTime())
+				&& cached.size() == attributes.size()) {
+			return Optional.of(cached.actionsFile());
+		}
+		ActionsFile actionsFile = read(new FileSystemResource(pathToFile));
+		cache.put(path, new CachedActionsFile(attributes.lastModifiedTime(), attributes.size(), actionsFile));
+		return Optional.of(actionsFile);
 	}
 
 	public ActionsFile read(Resource resource) {
 		try {
 			String actionFileString = asString(resource);
-			ObjectMapper mapper = new ObjectMapper(new YAMLFactory())
-				.setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE)
-				.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 			return mapper.readValue(actionFileString, ActionsFile.class);
 		}
 		catch (JsonProcessingException ex) {
@@ -151,4 +178,7 @@ public class ActionFileReader {
 		return FileCopyUtils.copyToString(reader);
 	}
 
+	private record CachedActionsFile(FileTime lastModified, long size, ActionsFile actionsFile) {
+	}
+
 }
@@ -20,16 +20,19 @@ import java.io.IOException;
 import java.nio.file.FileVisitor;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.Set;
 
 import org.apache.tika.Tika;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.cli.util.FileExtensionUtils;
 import org.springframework.cli.util.PathGatheringFileVisitor;
 
 /**
  * A {@link FileVisitor} that walks a directory structure looking for text files to
- * processes as determined by the Tika
+ * processes as determined by well known file extensions, falling back to Tika
  *
  * @author Eric Bottard
  * @author Mark Pollack
@@ -38,7 +41,13 @@ public class ActionFileVisitor extends PathGatheringFileVisitor {
 
 	private static final Logger logger = LoggerFactory.getLogger(ActionFileVisitor.class);
 
-	private final Tika tika = new Tika();
+	private static final Set<String> TEXT_EXTENSIONS = Set.of("yaml", "yml", "json", "xml", "txt", "md", "adoc",
+			"properties", "java", "kt", "groovy", "gradle", "kts", "hbs", "html", "css", "js", "ts", "sh", "sql");
+
+	private static final Set<String> BINARY_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "ico", "jar", "zip",
+			"gz", "tar", "class", "pdf");
+
+	private static final Tika tika = new Tika();
 
 	@Override
 	protected boolean rejectFile(Path file, BasicFileAttributes attrs) {
@@ -46,8 +55,16 @@ public class ActionFileVisitor extends PathGatheringFileVisitor {
 	}
 
 	private boolean looksLikeText(Path path) {
+		String extension = FileExtensionUtils.getExtension(path.getFileName().toString()).toLowerCase(Locale.ROOT);
+		if (TEXT_EXTENSIONS.contains(extension)) {
+			return true;
+		}
+		if (BINARY_EXTENSIONS.contains(extension)) {
+			return false;
+		}
 		try {
-			return (tika.detect(path).startsWith("text") || tika.detect(path).contains("xml"));
+			String mimeType = tika.detect(path);
+			return (mimeType.startsWith("text") || mimeType.contains("xml"));
 		}
 		catch (IOException ex) {
 			logger.warn("Error detecting mime type for {}", path);
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.actions;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.cli.runtime.engine.templating.TemplateEngine;
+import org.springframework.util.StringUtils;
+
+/**
+ * Files an {@link Action} reads and writes, used to decide if two actions can run at the
+ * same time.
+ *
+ * <p>
+ * The footprint is derived from the declared target paths of an action.
+ * <ul>
+ * <li>{@code generate} writes its {@code to:} file.</li>
+ * <li>{@code inject} reads and writes its {@code to:} file.</li>
+ * <li>The {@code inject-maven-*} actions read and write {@code pom.xml}.</li>
+ * <li>{@code exec} may read any file and writes its {@code to:} and {@code errto:}
+ * files.</li>
+ * <li>{@code vars} changes the model which every action reads, so it is a barrier.</li>
+ * </ul>
+ * An action which depends on an earlier one must wait for it to complete.
+ */
+public final class ActionFootprint {
+
+	private final Set<Path> reads;
+
+	private final Set<Path> writes;
+
+	private final boolean readsAnyFile;
+
+	private final boolean barrier;
+
+	private ActionFootprint(Set<Path> reads, Set<Path> writes, boolean readsAnyFile, boolean barrier) {
+		this.reads = reads;
+		this.writes = writes;
+		this.readsAnyFile = readsAnyFile;
+		this.barrier = barrier;
+	}
+
+	/**
+	 * Create the footprint of an action. Target paths are resolved with the given
+	 * model.
+	 * @param action the action
+	 * @param templateEngine the template engine used to resolve target paths
+	 * @param model the model
+	 * @param cwd the working directory of the command
+	 * @return the footprint
+	 */
+	public static ActionFootprint of(Action action, TemplateEngine templateEngine, Map<String, Object> model,
+			Path cwd) {
+		if (action.getVars() != null) {
+			return new ActionFootprint(Collections.emptySet(), Collections.emptySet(), true, true);
+		}
+		Set<Path> reads = new HashSet<>();
+		Set<Path> writes = new HashSet<>();
+		boolean readsAnyFile = false;
+		if (action.getGenerate() != null) {
+			addPath(writes, cwd, action.getGenerate().getTo(), templateEngine, model);
+		}
+		if (action.getInject() != null) {
+			addPath(reads, cwd, action.getInject().getTo(), templateEngine, model);
+			addPath(writes, cwd, action.getInject().getTo(), templateEngine, model);
+		}
+		if (action.getInjectMavenDependency() != null || action.getInjectMavenBuildPlugin() != null
+				|| action.getInjectMavenDependencyManagement() != null || action.getInjectMavenRepository() != null) {
+			Path pomPath = cwd.resolve("pom.xml").toAbsolutePath().normalize();
+			reads.add(pomPath);
+			writes.add(pomPath);
+		}
+		if (action.getExec() != null) {
+			readsAnyFile = true;
+			// exec redirects are resolved against the process working directory
+			addPath(writes, Path.of(""), action.getExec().getTo(), templateEngine, model);
+			addPath(writes, Path.of(""), action.getExec().getErrto(), templateEngine, model);
+		}
+		return new ActionFootprint(reads, writes, readsAnyFile, false);
+	}
+
+	/**
+	 * Determine if this action must wait for an earlier action to complete.
+	 * @param earlier the footprint of an action declared before this one
+	 * @return true if the actions can not run at the same time
+	 */
+	public boolean dependsOn(ActionFootprint earlier) {
+		if (this.barrier || earlier.barrier) {
+			return true;
+		}
+		// read after write
+		if (!earlier.writes.isEmpty() && (this.readsAnyFile || intersects(this.reads, earlier.writes))) {
+			return true;
+		}
+		// write after read
+		if (!this.writes.isEmpty() && (earlier.readsAnyFile || intersects(earlier.reads, this.writes))) {
+			return true;
+		}
+		// write after write
+		return intersects(this.writes, earlier.writes);
+	}
+
+	private static boolean intersects(Set<Path> left, Set<Path> right) {
+		for (Path path : left) {
+			if (right.contains(path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void addPath(Set<Path> paths, Path baseDir, String expression, TemplateEngine templateEngine,
+			Map<String, Object> model) {
+		if (!StringUtils.hasText(expression)) {
+			return;
+		}
+		String path = templateEngine.process(expression, model);
+		if (StringUtils.hasText(path)) {
+			paths.add(baseDir.resolve(path).toAbsolutePath().normalize());
+		}
+	}
+
+}
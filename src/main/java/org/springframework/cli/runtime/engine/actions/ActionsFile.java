@@ -28,18 +28,29 @@ public class ActionsFile {
 
 	private final List<Action> actions;
 
+	/**
+	 * If set, actions which don't depend on each other are run concurrently.
+	 */
+	private final boolean parallel;
+
 	@JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
-	ActionsFile(@JsonProperty("actions") @Nullable List<Action> actions) {
+	ActionsFile(@JsonProperty("actions") @Nullable List<Action> actions,
+			@JsonProperty("parallel") @Nullable Boolean parallel) {
 		this.actions = Objects.requireNonNull(actions);
+		this.parallel = Boolean.TRUE.equals(parallel);
 	}
 
 	public List<Action> getActions() {
 		return actions;
 	}
 
+	public boolean isParallel() {
+		return parallel;
+	}
+
 	@Override
 	public String toString() {
-		return "ActionsFile{" + "actions=" + actions + '}';
+		return "ActionsFile{" + "actions=" + actions + ", parallel=" + parallel + '}';
 	}
 
 }
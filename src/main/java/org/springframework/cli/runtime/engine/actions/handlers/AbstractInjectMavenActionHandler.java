@@ -16,37 +16,30 @@
 
 package org.springframework.cli.runtime.engine.actions.handlers;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
 
 import org.jetbrains.annotations.NotNull;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.RecipeRun;
 import org.openrewrite.Result;
 import org.openrewrite.SourceFile;
 import org.openrewrite.internal.InMemoryLargeSourceSet;
-import org.openrewrite.maven.MavenParser;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import org.springframework.cli.SpringCliException;
+import org.springframework.cli.recipe.SourceParsers;
 import org.springframework.cli.runtime.engine.templating.TemplateEngine;
+import org.springframework.cli.util.FileMaterializer;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.util.StringUtils;
 
 public abstract class AbstractInjectMavenActionHandler {
 
-	private static final Logger logger = LoggerFactory.getLogger(AbstractInjectMavenActionHandler.class);
-
 	protected final TemplateEngine templateEngine;
 
 	protected final Map<String, Object> model;
@@ -64,10 +57,7 @@ public abstract class AbstractInjectMavenActionHandler {
 	}
 
 	protected static ExecutionContext getExecutionContext() {
-		Consumer<Throwable> onError = e -> {
-			logger.error("error in javaParser execution", e);
-		};
-		return new InMemoryExecutionContext(onError);
+		return SourceParsers.getInstance().createExecutionContext();
 	}
 
 	protected String getTextToUse(String text, String actionName) {
@@ -95,9 +85,15 @@ public abstract class AbstractInjectMavenActionHandler {
 		List<Result> resultList = run().getChangeset().getAllResults();
 		try {
 			for (Result result : resultList) {
-				// write updated file.
-				try (BufferedWriter sourceFileWriter = Files.newBufferedWriter(pomPath, StandardCharsets.UTF_8)) {
-					sourceFileWriter.write(result.getAfter().printAllTrimmed());
+				// write updated file next to the original and move it in place so that
+				// the pom is never seen half written
+				Path tempPath = FileMaterializer.createTempFileFor(pomPath);
+				try {
+					Files.writeString(tempPath, result.getAfter().printAllTrimmed(), StandardCharsets.UTF_8);
+					FileMaterializer.replaceFile(tempPath, pomPath);
+				}
+				finally {
+					Files.deleteIfExists(tempPath);
 				}
 			}
 		}
@@ -107,11 +103,10 @@ public abstract class AbstractInjectMavenActionHandler {
 	}
 
 	public RecipeRun run() {
-		List<Path> paths = new ArrayList<>();
-		paths.add(getPomPath());
-		MavenParser mavenParser = MavenParser.builder().build();
-		List<SourceFile> parsedPomFiles = mavenParser.parse(paths, cwd, getExecutionContext()).toList();
-		return createRecipe().run(new InMemoryLargeSourceSet(parsedPomFiles), getExecutionContext());
+		ExecutionContext executionContext = getExecutionContext();
+		List<SourceFile> parsedPomFiles = SourceParsers.getInstance()
+			.parseMaven(List.of(getPomPath()), cwd, executionContext);
+		return createRecipe().run(new InMemoryLargeSourceSet(parsedPomFiles), executionContext);
 	}
 
 	protected abstract Recipe createRecipe();
@@ -24,11 +24,14 @@ import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -40,6 +43,7 @@ import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.runtime.engine.actions.Exec;
 import org.springframework.cli.runtime.engine.templating.TemplateEngine;
@@ -61,6 +65,12 @@ public class ExecActionHandler {
 
 	public static final String OUTPUT_STDOUT_JSONPATH = "stdout-json-path";
 
+	private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(300);
+
+	private static final Duration STREAM_DRAIN_TIMEOUT = Duration.ofSeconds(5);
+
+	private static final int MAX_CAPTURED_CHARS = 1024 * 1024;
+
 	private final TemplateEngine templateEngine;
 
 	private final Map<String, Object> model;
@@ -144,20 +154,29 @@ public class ExecActionHandler {
 			}
 		}
 
+		Duration timeout = getTimeout(exec);
 		try {
 			terminalMessage.print("Executing: " + StringUtils.arrayToDelimitedString(commands, " "));
 			Process process = processBuilder.start();
-			// capture the output.
-			Optional<String> stderr = Optional.empty();
-			Optional<String> stdout = Optional.empty();
-			if (exec.getTo() == null) {
-				stdout = readStringFromInputStream(process.getInputStream());
-			}
-			if (exec.getErrto() == null) {
-				stderr = readStringFromInputStream(process.getErrorStream());
-			}
+			// drain both streams concurrently so that a full pipe never blocks the process,
+			// output is streamed live unless it's going to be parsed as json
+			boolean streamOutput = exec.getJsonPath() == null;
+			TerminalMessage liveOutput = streamOutput ? this.terminalMessage : null;
+			OutputCapture stdoutCapture = (exec.getTo() == null)
+					? OutputCapture.start(process.getInputStream(), "stdout", liveOutput) : null;
+			OutputCapture stderrCapture = (exec.getErrto() == null)
+					? OutputCapture.start(process.getErrorStream(), "stderr", liveOutput) : null;
 
-			boolean exited = process.waitFor(300, TimeUnit.SECONDS);
+			boolean exited = process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS);
+			if (!exited) {
+				destroyProcessTree(process);
+				awaitCapture(stdoutCapture);
+				awaitCapture(stderrCapture);
+				throw new SpringCliException("Command '" + StringUtils.arrayToDelimitedString(commands, " ")
+						+ "' did not complete within " + timeout.toSeconds() + " seconds and was terminated");
+			}
+			Optional<String> stdout = awaitCapture(stdoutCapture);
+			Optional<String> stderr = awaitCapture(stderrCapture);
 			outputs.put(OUTPUT_EXIT_VALUE, process.exitValue());
 
 			if (exec.getTo() == null && stdout.isPresent()) {
@@ -169,22 +188,20 @@ public class ExecActionHandler {
 
 			// Logging success or failure to terminal and optionally process stdout with
 			// JSON Path
-			if (exited) {
-				if (process.exitValue() == 0) {
-					terminalMessage.print("Command executed successfully");
-					if (exec.getJsonPath() != null) {
-						Optional<Object> jsonPathOutput = applyJsonPath(exec, stdout);
-						if (jsonPathOutput.isPresent()) {
-							outputs.put(OUTPUT_STDOUT_JSONPATH, jsonPathOutput.get());
-						}
+			if (process.exitValue() == 0) {
+				terminalMessage.print("Command executed successfully");
+				if (exec.getJsonPath() != null) {
+					Optional<Object> jsonPathOutput = applyJsonPath(exec, stdout);
+					if (jsonPathOutput.isPresent()) {
+						outputs.put(OUTPUT_STDOUT_JSONPATH, jsonPathOutput.get());
 					}
 				}
-				else {
-					terminalMessage.print("Command '" + StringUtils.arrayToDelimitedString(commands, " ")
-							+ "' exited with value " + process.exitValue());
-					if (stderr.isPresent()) {
-						terminalMessage.print("stderr = " + stderr.get());
-					}
+			}
+			else {
+				terminalMessage.print("Command '" + StringUtils.arrayToDelimitedString(commands, " ")
+						+ "' exited with value " + process.exitValue());
+				if (!streamOutput && stderr.isPresent()) {
+					terminalMessage.print("stderr = " + stderr.get());
 				}
 			}
 		}
@@ -200,6 +217,31 @@ public class ExecActionHandler {
 		}
 	}
 
+	private Duration getTimeout(Exec exec) {
+		if (!StringUtils.hasText(exec.getTimeout())) {
+			return DEFAULT_TIMEOUT;
+		}
+		String timeout = templateEngine.process(exec.getTimeout(), model).trim();
+		try {
+			return DurationStyle.detectAndParse(timeout, ChronoUnit.SECONDS);
+		}
+		catch (IllegalArgumentException ex) {
+			throw new SpringCliException("Invalid exec timeout '" + timeout + "'", ex);
+		}
+	}
+
+	private static void destroyProcessTree(Process process) {
+		process.descendants().forEach(ProcessHandle::destroyForcibly);
+		process.destroyForcibly();
+	}
+
+	private static Optional<String> awaitCapture(OutputCapture capture) throws InterruptedException {
+		if (capture == null) {
+			return Optional.empty();
+		}
+		return capture.await();
+	}
+
 	private Optional<Object> applyJsonPath(Exec exec, Optional<String> stdout) {
 		if (stdout.isPresent()) {
 			ObjectMapper mapper = new ObjectMapper();
@@ -219,15 +261,92 @@ public class ExecActionHandler {
 		return Optional.empty();
 	}
 
-	private Optional<String> readStringFromInputStream(InputStream input) {
-		final String newline = System.getProperty("line.separator");
-		try (BufferedReader buffer = new BufferedReader(new InputStreamReader(input))) {
-			return Optional.of(buffer.lines().collect(Collectors.joining(newline)));
+	/**
+	 * Drains a process stream on its own thread, optionally printing each line as it
+	 * arrives. Only the last {@link #MAX_CAPTURED_CHARS} characters are kept.
+	 */
+	private static final class OutputCapture implements Runnable {
+
+		private final InputStream input;
+
+		private final TerminalMessage terminalMessage;
+
+		private final Deque<String> lines = new ArrayDeque<>();
+
+		private final Thread thread;
+
+		private long capturedChars;
+
+		private boolean truncated;
+
+		private boolean failed;
+
+		private OutputCapture(InputStream input, String name, TerminalMessage terminalMessage) {
+			this.input = input;
+			this.terminalMessage = terminalMessage;
+			this.thread = new Thread(this, "exec-" + name);
+			this.thread.setDaemon(true);
 		}
-		catch (IOException ex) {
-			logger.error("Could not read command output: " + ex.getMessage());
+
+		static OutputCapture start(InputStream input, String name, TerminalMessage terminalMessage) {
+			OutputCapture capture = new OutputCapture(input, name, terminalMessage);
+			capture.thread.start();
+			return capture;
 		}
-		return Optional.empty();
+
+		@Override
+		public void run() {
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(this.input))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (this.terminalMessage != null) {
+						this.terminalMessage.print(line);
+					}
+					append(line);
+				}
+			}
+			catch (IOException ex) {
+				logger.error("Could not read command output: " + ex.getMessage());
+				synchronized (this) {
+					this.failed = true;
+				}
+			}
+		}
+
+		private synchronized void append(String line) {
+			this.lines.addLast(line);
+			this.capturedChars += line.length();
+			while (this.capturedChars > MAX_CAPTURED_CHARS && this.lines.size() > 1) {
+				this.capturedChars -= this.lines.removeFirst().length();
+				this.truncated = true;
+			}
+		}
+
+		/**
+		 * Wait for the stream to be drained.
+		 * @return the captured output, empty if it could not be read completely
+		 */
+		Optional<String> await() throws InterruptedException {
+			this.thread.join(STREAM_DRAIN_TIMEOUT.toMillis());
+			if (this.thread.isAlive()) {
+				// usually a child of the command still holds the stream open, what was
+				// read so far is incomplete and is not used as output
+				logger.warn("Command output on {} was not closed within {} ms, ignoring it", this.thread.getName(),
+						STREAM_DRAIN_TIMEOUT.toMillis());
+				return Optional.empty();
+			}
+			synchronized (this) {
+				if (this.failed) {
+					return Optional.empty();
+				}
+				if (this.truncated) {
+					logger.debug("Command output on {} was truncated to the last {} characters", this.thread.getName(),
+							MAX_CAPTURED_CHARS);
+				}
+				return Optional.of(String.join(System.lineSeparator(), this.lines));
+			}
+		}
+
 	}
 
 }
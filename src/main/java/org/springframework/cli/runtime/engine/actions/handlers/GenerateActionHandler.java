@@ -16,15 +16,26 @@
 
 package org.springframework.cli.runtime.engine.actions.handlers;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Map;
 
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.runtime.engine.actions.Generate;
 import org.springframework.cli.runtime.engine.templating.TemplateEngine;
+import org.springframework.cli.util.FileMaterializer;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.util.StringUtils;
 
@@ -80,9 +91,9 @@ public class GenerateActionHandler {
 	private void writeFile(Generate generate, TemplateEngine templateEngine, Map<String, Object> model, Path pathToFile)
 			throws IOException {
 		Files.createDirectories(pathToFile.getParent());
-		String result = null;
+		String template = null;
 		if (StringUtils.hasText(generate.getText())) {
-			result = templateEngine.process(generate.getText(), model);
+			template = generate.getText();
 		}
 		else {
 			if (StringUtils.hasText(generate.getFrom())) {
@@ -90,8 +101,7 @@ public class GenerateActionHandler {
 				if (Files.exists(templateFilePath) && Files.isRegularFile(templateFilePath)) {
 
 					try {
-						String contents = Files.readString(templateFilePath);
-						result = templateEngine.process(contents, model);
+						template = Files.readString(templateFilePath);
 					}
 					catch (IOException ex) {
 						throw new SpringCliException("Can not read from file " + templateFilePath.toAbsolutePath(), ex);
@@ -102,11 +112,55 @@ public class GenerateActionHandler {
 				}
 			}
 		}
-		if (result != null) {
-			Files.write(pathToFile, result.getBytes());
+		if (template != null && !render(template, templateEngine, model, pathToFile)) {
+			terminalMessage.print("Skipping generation of " + pathToFile + ".  File content is unchanged.");
+			return;
 		}
 		// TODO: keep log of action taken so can report later.
 		terminalMessage.print("Generated " + pathToFile);
 	}
 
+	/**
+	 * Render the template straight into a temporary file next to the target and move it
+	 * in place, unless the target already has the same content.
+	 * @return true if the target file was written
+	 */
+	private static boolean render(String template, TemplateEngine templateEngine, Map<String, Object> model,
+			Path pathToFile) throws IOException {
+		Path tempFile = FileMaterializer.createTempFileFor(pathToFile);
+		try {
+			MessageDigest digest = newDigest();
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+					new DigestOutputStream(Files.newOutputStream(tempFile), digest), StandardCharsets.UTF_8))) {
+				templateEngine.process(template, model, writer);
+			}
+			if (Files.isRegularFile(pathToFile) && Files.size(pathToFile) == Files.size(tempFile)
+					&& MessageDigest.isEqual(digest.digest(), digest(pathToFile))) {
+				return false;
+			}
+			FileMaterializer.replaceFile(tempFile, pathToFile);
+			return true;
+		}
+		finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private static byte[] digest(Path file) throws IOException {
+		MessageDigest digest = newDigest();
+		try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+			in.transferTo(OutputStream.nullOutputStream());
+		}
+		return digest.digest();
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 }
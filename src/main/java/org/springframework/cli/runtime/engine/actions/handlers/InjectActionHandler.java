@@ -16,14 +16,13 @@
 
 package org.springframework.cli.runtime.engine.actions.handlers;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,11 +33,18 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.runtime.engine.actions.Inject;
 import org.springframework.cli.runtime.engine.templating.TemplateEngine;
+import org.springframework.cli.util.FileMaterializer;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.util.StringUtils;
 
 /**
  * Handles the responsibility of injecting Strings into files.
+ *
+ * <p>
+ * Injections can be collected with {@link #add(Inject)} and applied together with
+ * {@link #exec()}. Each file is then read once, markers of all its injections are looked
+ * up in a single pass over its lines and the file is written once by moving a temporary
+ * file in place. The result is the same as applying the injections one after another.
  */
 public class InjectActionHandler {
 
@@ -52,6 +58,8 @@ public class InjectActionHandler {
 
 	private TerminalMessage terminalMessage;
 
+	private final Map<Path, List<Inject>> injections = new LinkedHashMap<>();
+
 	public InjectActionHandler(TemplateEngine templateEngine, Map<String, Object> model, Path cwd,
 			TerminalMessage terminalMessage) {
 		this.templateEngine = templateEngine;
@@ -61,8 +69,31 @@ public class InjectActionHandler {
 	}
 
 	public void execute(Inject inject) {
+		add(inject);
+		exec();
+	}
+
+	/**
+	 * Add an injection to be applied with the next call to {@link #exec()}.
+	 * @param inject the injection
+	 */
+	public void add(Inject inject) {
 		Path fileToInject = getFileToInject(inject, templateEngine, model, cwd);
-		inject(fileToInject, templateEngine, inject, model);
+		this.injections.computeIfAbsent(fileToInject, (path) -> new ArrayList<>()).add(inject);
+	}
+
+	/**
+	 * Apply all added injections in the order they were added.
+	 */
+	public void exec() {
+		try {
+			for (Map.Entry<Path, List<Inject>> entry : this.injections.entrySet()) {
+				inject(entry.getKey(), entry.getValue());
+			}
+		}
+		finally {
+			this.injections.clear();
+		}
 	}
 
 	/**
@@ -90,89 +121,65 @@ public class InjectActionHandler {
 		return pathToFile;
 	}
 
-	private void inject(Path pathToFile, TemplateEngine templateEngine, Inject inject, Map<String, Object> model) {
-		Path newFile = Paths.get(pathToFile + ".new");
-		boolean shouldInject = shouldInjectFile(inject.getSkip(), pathToFile.toFile());
-		if (!shouldInject) {
-			return;
-		}
+	private void inject(Path pathToFile, List<Inject> injects) {
+		String contents;
 		try {
-			List<String> lines = Files.readAllLines(pathToFile);
+			contents = Files.readString(pathToFile);
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Could not read file contents of " + pathToFile, ex);
+		}
+		InjectedLines lines = new InjectedLines(contents, injects);
+		boolean injected = false;
+		for (Inject inject : injects) {
+			if (inject.getSkip() != null && lines.contains(inject.getSkip())) {
+				terminalMessage.print("Skipping injection of " + pathToFile);
+				continue;
+			}
 			// process before injection
 			if (StringUtils.hasText(inject.getBefore())) {
-				int injectIndex = indexFromMarkerString(inject.getBefore(), lines);
+				int injectIndex = lines.indexOf(inject.getBefore());
 				if (injectIndex != -1) {
-					String result = templateEngine.process(inject.getText(), model);
-					lines.add(injectIndex, result);
+					lines.insert(injectIndex, templateEngine.process(inject.getText(), model));
+					injected = true;
 				}
 				else {
-					terminalMessage.print("Could not inject into file " + pathToFile.toFile().getAbsolutePath()
-							+ " no match on before: " + inject.getBefore());
+					terminalMessage.print(
+							"Could not inject into file " + pathToFile + " no match on before: " + inject.getBefore());
 				}
 			}
 			// process after injection
 			if (StringUtils.hasText(inject.getAfter())) {
-				int injectIndex = indexFromMarkerString(inject.getAfter(), lines);
+				int injectIndex = lines.indexOf(inject.getAfter());
 				if (injectIndex != -1) {
-					String result = templateEngine.process(inject.getText(), model);
-					lines.add(injectIndex + 1, result);
+					lines.insert(injectIndex + 1, templateEngine.process(inject.getText(), model));
+					injected = true;
 				}
 				else {
-					terminalMessage.print("Could not inject into file " + pathToFile.toFile().getAbsolutePath()
-							+ " no match on after: " + inject.getAfter());
+					terminalMessage.print(
+							"Could not inject into file " + pathToFile + " no match on after: " + inject.getAfter());
 				}
 			}
-
-			// write updated file to with .new suffix.
-			Files.write(newFile, lines, Charset.defaultCharset());
-			// swap out files
-			Files.copy(newFile, pathToFile, StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
-			// delete newFile
-			deleteFile(newFile);
-			terminalMessage.print("Injected into " + pathToFile.toFile().getAbsolutePath());
 		}
-		catch (IOException ex) {
-			terminalMessage.print("Could not inject into file " + pathToFile.toFile().getAbsolutePath()
-					+ ".  Exception Message = " + ex.getMessage());
-			deleteFile(newFile);
+		if (!injected) {
+			return;
 		}
-
-	}
-
-	private boolean shouldInjectFile(String skip, File file) {
-		boolean shouldInject = true;
+		Path newFile = null;
 		try {
-			String fileContents = Files.readAllLines(file.toPath()).stream().collect(Collectors.joining("\n"));
-			if (skip != null && fileContents.contains(skip)) {
-				terminalMessage.print("Skipping injection of " + file);
-				shouldInject = false;
-			}
+			newFile = FileMaterializer.createTempFileFor(pathToFile);
+			Files.writeString(newFile, lines.toString());
+			FileMaterializer.replaceFile(newFile, pathToFile);
+			terminalMessage.print("Injected into " + pathToFile);
 		}
 		catch (IOException ex) {
-			throw new SpringCliException("Could not read file contents of " + file.getAbsolutePath());
+			terminalMessage
+				.print("Could not inject into file " + pathToFile + ".  Exception Message = " + ex.getMessage());
 		}
-		return shouldInject;
-	}
-
-	/**
-	 * @param marker the string we are looking to insert before or after
-	 * @param lines the lines of text
-	 * @return the index to insert a new line, -1 if no match found.
-	 */
-	private int indexFromMarkerString(String marker, List<String> lines) {
-		int i = 0;
-		for (Iterator<String> it = lines.iterator(); it.hasNext(); i++) {
-			String line = it.next();
-			if (line.contains(marker)) {
-				return i;
+		finally {
+			if (newFile != null) {
+				deleteFile(newFile);
 			}
 		}
-		if (i == lines.size()) {
-			return -1;
-		}
-		else {
-			return i;
-		}
 	}
 
 	private void deleteFile(Path newFile) {
@@ -186,4 +193,127 @@ public class InjectActionHandler {
 		}
 	}
 
+	/**
+	 * Lines of a file with injected lines. The first line of the original file containing
+	 * each marker is found in a single pass up front, later lookups only need to check
+	 * the injected lines and to account for lines injected before the match.
+	 */
+	private static final class InjectedLines {
+
+		private final String contents;
+
+		private final List<String> lines;
+
+		private final String lineSeparator;
+
+		private final boolean endsWithLineSeparator;
+
+		private final Map<String, Integer> markerIndexes = new HashMap<>();
+
+		// indexes of injected lines in ascending order
+		private final List<Integer> injectedIndexes = new ArrayList<>();
+
+		InjectedLines(String contents, List<Inject> injects) {
+			this.contents = contents;
+			this.lines = contents.lines().collect(Collectors.toCollection(ArrayList::new));
+			this.lineSeparator = contents.contains("\r\n") ? "\r\n" : "\n";
+			this.endsWithLineSeparator = contents.endsWith("\n");
+			List<String> markers = new ArrayList<>();
+			for (Inject inject : injects) {
+				for (String marker : new String[] { inject.getBefore(), inject.getAfter() }) {
+					if (StringUtils.hasText(marker) && !markers.contains(marker)) {
+						markers.add(marker);
+					}
+				}
+			}
+			for (int i = 0; i < this.lines.size() && this.markerIndexes.size() < markers.size(); i++) {
+				String line = this.lines.get(i);
+				for (String marker : markers) {
+					if (!this.markerIndexes.containsKey(marker) && line.contains(marker)) {
+						this.markerIndexes.put(marker, i);
+					}
+				}
+			}
+		}
+
+		/**
+		 * @param text the text to look for
+		 * @return whether the original contents or an injected line contain the text
+		 */
+		boolean contains(String text) {
+			if (this.contents.contains(text)) {
+				return true;
+			}
+			for (int index : this.injectedIndexes) {
+				if (this.lines.get(index).contains(text)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * @param marker the string we are looking to insert before or after
+		 * @return the index of the first line containing the marker, -1 if no match found.
+		 */
+		int indexOf(String marker) {
+			Integer originalIndex = this.markerIndexes.get(marker);
+			int index = (originalIndex != null) ? currentIndex(originalIndex) : -1;
+			for (int injectedIndex : this.injectedIndexes) {
+				if (index != -1 && injectedIndex > index) {
+					break;
+				}
+				if (this.lines.get(injectedIndex).contains(marker)) {
+					return injectedIndex;
+				}
+			}
+			return index;
+		}
+
+		/**
+		 * Insert text, each of its lines is tracked as an injected line so that later
+		 * injections can use any of them as a marker.
+		 * @param index the index of the line to insert before
+		 * @param text the text to insert
+		 */
+		void insert(int index, String text) {
+			// a trailing line separator adds an empty line, like it did before splitting
+			String[] textLines = text.split("\\r?\\n", -1);
+			for (int i = 0; i < textLines.length; i++) {
+				insertLine(index + i, textLines[i]);
+			}
+		}
+
+		private void insertLine(int index, String line) {
+			this.lines.add(index, line);
+			int position = this.injectedIndexes.size();
+			for (int i = 0; i < this.injectedIndexes.size(); i++) {
+				int injectedIndex = this.injectedIndexes.get(i);
+				if (injectedIndex >= index) {
+					this.injectedIndexes.set(i, injectedIndex + 1);
+					position = Math.min(position, i);
+				}
+			}
+			this.injectedIndexes.add(position, index);
+		}
+
+		private int currentIndex(int originalIndex) {
+			int index = originalIndex;
+			for (int injectedIndex : this.injectedIndexes) {
+				if (injectedIndex > index) {
+					break;
+				}
+				index++;
+			}
+			return index;
+		}
+
+		@Override
+		public String toString() {
+			String result = String.join(this.lineSeparator, this.lines);
+			return this.endsWithLineSeparator ? result + this.lineSeparator : result;
+		}
+
+	}
+
 }
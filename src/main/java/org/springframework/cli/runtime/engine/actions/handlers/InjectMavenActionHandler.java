@@ -24,7 +24,6 @@ import java.util.Map;
 
 import org.openrewrite.Recipe;
 import org.openrewrite.config.DeclarativeRecipe;
-import org.openrewrite.maven.MavenParser;
 
 import org.springframework.cli.recipe.AddDependencyRecipeFactory;
 import org.springframework.cli.recipe.AddManagedDependencyRecipeFactory;
@@ -75,10 +74,38 @@ public class InjectMavenActionHandler extends AbstractInjectMavenActionHandler {
 		return dependencyManagements.add(dependencyManagement);
 	}
 
+	/**
+	 * Determine if there are injections which were not yet applied.
+	 * @return true if there are pending injections
+	 */
+	public boolean hasInjections() {
+		return !this.dependencies.isEmpty() || !this.buildPlugins.isEmpty() || !this.repositories.isEmpty()
+				|| !this.dependencyManagements.isEmpty();
+	}
+
+	/**
+	 * Apply all pending injections to pom.xml with a single parse and write. Does nothing
+	 * if there are no pending injections.
+	 */
+	@Override
+	public void exec() {
+		if (!hasInjections()) {
+			return;
+		}
+		try {
+			super.exec();
+		}
+		finally {
+			this.dependencies.clear();
+			this.buildPlugins.clear();
+			this.repositories.clear();
+			this.dependencyManagements.clear();
+		}
+	}
+
 	protected Recipe createRecipe() {
 		DeclarativeRecipe aggregateRecipe = new DeclarativeRecipe("spring.cli.ai.MavenUpdates",
 				"Add Pom changes from AI", "", Collections.emptySet(), null, null, false, Collections.emptyList());
-		MavenParser mavenParser = MavenParser.builder().build();
 		for (InjectMavenDependency d : dependencies) {
 			String text = getTextToUse(d.getText(), "Inject Maven Dependency");
 			MavenDependencyReader mavenDependencyReader = new MavenDependencyReader();
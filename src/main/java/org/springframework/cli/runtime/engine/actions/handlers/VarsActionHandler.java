@@ -28,11 +28,11 @@ import org.jline.terminal.Terminal;
 
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.roles.RoleService;
+import org.springframework.cli.roles.RoleVariables;
 import org.springframework.cli.runtime.engine.actions.Options;
 import org.springframework.cli.runtime.engine.actions.Question;
 import org.springframework.cli.runtime.engine.actions.Vars;
 import org.springframework.cli.runtime.engine.templating.TemplateEngine;
-import org.springframework.cli.util.JavaUtils;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.shell.component.context.ComponentContext;
@@ -57,19 +57,44 @@ public class VarsActionHandler {
 
 	private final Map<String, Object> model;
 
-	private final Path cwd;
-
 	private final Path dynamicSubCommandPath;
 
 	private final TerminalMessage terminalMessage;
 
 	private final Terminal terminal;
 
+	private final RoleVariables roleVariables;
+
+	private final boolean flushAfterExecute;
+
 	public VarsActionHandler(TemplateEngine templateEngine, Map<String, Object> model, Path cwd,
 			Path dynamicSubCommandPath, TerminalMessage terminalMessage, Terminal terminal) {
+		this(templateEngine, model, new RoleVariables(new RoleService(cwd), ""), true, dynamicSubCommandPath,
+				terminalMessage, terminal);
+	}
+
+	/**
+	 * Create a handler which stores variables in a role variable snapshot shared by the
+	 * actions of a command run. Writing the snapshot to disk is left to the caller.
+	 * @param templateEngine the template engine
+	 * @param model the model
+	 * @param roleVariables the role variables of the current run
+	 * @param dynamicSubCommandPath the path of the command
+	 * @param terminalMessage the terminal message
+	 * @param terminal the terminal
+	 */
+	public VarsActionHandler(TemplateEngine templateEngine, Map<String, Object> model, RoleVariables roleVariables,
+			Path dynamicSubCommandPath, TerminalMessage terminalMessage, Terminal terminal) {
+		this(templateEngine, model, roleVariables, false, dynamicSubCommandPath, terminalMessage, terminal);
+	}
+
+	private VarsActionHandler(TemplateEngine templateEngine, Map<String, Object> model, RoleVariables roleVariables,
+			boolean flushAfterExecute, Path dynamicSubCommandPath, TerminalMessage terminalMessage,
+			Terminal terminal) {
 		this.templateEngine = templateEngine;
 		this.model = model;
-		this.cwd = cwd;
+		this.roleVariables = roleVariables;
+		this.flushAfterExecute = flushAfterExecute;
 		this.dynamicSubCommandPath = dynamicSubCommandPath;
 		this.terminalMessage = terminalMessage;
 		this.terminal = terminal;
@@ -85,20 +110,20 @@ public class VarsActionHandler {
 			}
 		}
 		processData(vars.getData());
-
+		if (this.flushAfterExecute) {
+			this.roleVariables.flush();
+		}
 	}
 
 	private void processData(Map<String, Object> data) {
 		if (data == null || data.isEmpty()) {
 			return;
 		}
-		RoleService roleService = new RoleService(cwd);
 		for (Entry<String, Object> objectEntry : data.entrySet()) {
 			String keyToUse = templateEngine.process(objectEntry.getKey().toString(), model);
-			Object valueToUse = JavaUtils.inferType(templateEngine.process(objectEntry.getValue().toString(), model));
+			String valueToUse = templateEngine.process(objectEntry.getValue().toString(), model);
 			// TODO store in default role "" for now
-			String roleName = "";
-			roleService.updateRole(roleName, keyToUse, valueToUse);
+			this.roleVariables.put(keyToUse, valueToUse);
 		}
 	}
 
@@ -179,9 +204,8 @@ public class VarsActionHandler {
 
 		Object object = resultContext.get(question.getName());
 
-		RoleService roleService = new RoleService();
 		// store in default role "" for now
-		roleService.updateRole("", question.getName(), JavaUtils.inferType(object));
+		this.roleVariables.put(question.getName(), object);
 
 	}
 
@@ -226,8 +250,7 @@ public class VarsActionHandler {
 		if (resultContext.containsKey(question.getName())) {
 			Object object = resultContext.get(question.getName());
 			// store in default role for now
-			RoleService roleService = new RoleService();
-			roleService.updateRole("", question.getName(), JavaUtils.inferType(object));
+			this.roleVariables.put(question.getName(), object);
 		}
 	}
 
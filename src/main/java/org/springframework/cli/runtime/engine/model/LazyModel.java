@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Model which supports values computed on first access. Lazy values are resolved when
+ * they are looked up with {@link #get(Object)}, which is how Handlebars and SpEL
+ * dereference map keys, so expensive values are only computed if a command uses them.
+ * Iterating over the model or copying it with {@link #putAll(Map)} doesn't resolve lazy
+ * values.
+ */
+public class LazyModel extends HashMap<String, Object> {
+
+	private final Map<String, Long> materialized;
+
+	public LazyModel() {
+		this.materialized = Collections.synchronizedMap(new LinkedHashMap<>());
+	}
+
+	/**
+	 * Create a model with the entries of another model. Copies of a {@link LazyModel}
+	 * share lazy values and keep track of resolved values together with the original.
+	 * @param model the model to copy
+	 */
+	public LazyModel(Map<String, Object> model) {
+		super(model);
+		this.materialized = (model instanceof LazyModel lazyModel) ? lazyModel.materialized
+				: Collections.synchronizedMap(new LinkedHashMap<>());
+	}
+
+	/**
+	 * Put a value which is computed on first access. If the model is not a
+	 * {@link LazyModel} the value is computed right away.
+	 * @param model the model
+	 * @param key the key
+	 * @param supplier supplies the value
+	 */
+	public static void putLazy(Map<String, Object> model, String key, Supplier<?> supplier) {
+		if (model instanceof LazyModel) {
+			model.put(key, new LazyValue(supplier));
+		}
+		else {
+			model.put(key, supplier.get());
+		}
+	}
+
+	/**
+	 * Put a value which is computed on first access if the key is not yet present.
+	 * @param model the model
+	 * @param key the key
+	 * @param supplier supplies the value
+	 * @see #putLazy(Map, String, Supplier)
+	 */
+	public static void putLazyIfAbsent(Map<String, Object> model, String key, Supplier<?> supplier) {
+		if (!model.containsKey(key)) {
+			putLazy(model, key, supplier);
+		}
+	}
+
+	@Override
+	public Object get(Object key) {
+		Object value = super.get(key);
+		if (value instanceof LazyValue lazyValue) {
+			return lazyValue.get((String) key, this.materialized);
+		}
+		return value;
+	}
+
+	@Override
+	public Object getOrDefault(Object key, Object defaultValue) {
+		return containsKey(key) ? get(key) : defaultValue;
+	}
+
+	/**
+	 * Get a value without resolving it if it's lazy.
+	 * @param key the key
+	 * @return the value as stored in the model
+	 */
+	public Object getRaw(String key) {
+		return super.get(key);
+	}
+
+	/**
+	 * Gets the keys of lazy values which were resolved, in resolution order, with the
+	 * time it took to compute them in milliseconds.
+	 * @return the resolved keys and their cost
+	 */
+	public Map<String, Long> getMaterialized() {
+		synchronized (this.materialized) {
+			return new LinkedHashMap<>(this.materialized);
+		}
+	}
+
+	private static final class LazyValue {
+
+		private final Supplier<?> supplier;
+
+		private volatile boolean resolved;
+
+		private Object value;
+
+		private LazyValue(Supplier<?> supplier) {
+			this.supplier = supplier;
+		}
+
+		Object get(String key, Map<String, Long> materialized) {
+			if (!this.resolved) {
+				synchronized (this) {
+					if (!this.resolved) {
+						long start = System.nanoTime();
+						this.value = this.supplier.get();
+						this.resolved = true;
+						materialized.put(key, (System.nanoTime() - start) / 1_000_000);
+					}
+				}
+			}
+			return this.value;
+		}
+
+	}
+
+}
@@ -16,12 +16,16 @@
 
 package org.springframework.cli.runtime.engine.model;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.model.Model;
 
@@ -46,31 +50,61 @@ public class MavenModelPopulator implements ModelPopulator {
 
 	public static final String JAVA_VERSION = "java-version";
 
+	private static final Map<Path, CachedPom> pomCache = new ConcurrentHashMap<>();
+
 	@Override
 	public void contributeToModel(Path rootDirectory, Map<String, Object> model) {
 		Path pomFile = rootDirectory.resolve("pom.xml");
 		if (Files.exists(pomFile)) {
-			PomReader pomReader = new PomReader();
-			Model mavenModel = pomReader.readPom(pomFile.toFile());
-			model.putIfAbsent(MAVEN_MODEL, mavenModel);
+			Model mavenModel = readPom(pomFile);
+			// the full model and properties are only handed out when a command uses them
+			LazyModel.putLazyIfAbsent(model, MAVEN_MODEL, mavenModel::clone);
 			model.putIfAbsent(ARTIFACT_ID, mavenModel.getArtifactId());
 			model.putIfAbsent(ARTIFACT_VERSION, mavenModel.getVersion());
 			String artifactPath = getArtifactPath(pomFile, mavenModel);
 			model.putIfAbsent(ARTIFACT_PATH, artifactPath);
 
-			Properties mavenProperties = new Properties();
-			// This will take care of properties such as 'java-version'
-			for (Entry<Object, Object> kv : mavenModel.getProperties().entrySet()) {
-				// can't use 'dots' in template language replacement expressions, change
-				// to underscore
-				mavenProperties.put(kv.getKey().toString().replace('.', '-'), kv.getValue());
-			}
-			model.putIfAbsent(MAVEN_PROPERTIES, mavenProperties);
+			LazyModel.putLazyIfAbsent(model, MAVEN_PROPERTIES, () -> getMavenProperties(mavenModel));
 			model.putIfAbsent(PROJECT_NAME, mavenModel.getName());
 			model.putIfAbsent(PROJECT_DESCRIPTION, mavenModel.getDescription());
-			if (mavenProperties.containsKey("java-version")) {
-				model.putIfAbsent(JAVA_VERSION, JavaUtils.getJavaVersion(mavenProperties.getProperty("java-version")));
+			Properties properties = mavenModel.getProperties();
+			String javaVersion = properties.getProperty("java.version", properties.getProperty("java-version"));
+			if (javaVersion != null) {
+				model.putIfAbsent(JAVA_VERSION, JavaUtils.getJavaVersion(javaVersion));
+			}
+		}
+	}
+
+	private static Properties getMavenProperties(Model mavenModel) {
+		Properties mavenProperties = new Properties();
+		// This will take care of properties such as 'java-version'
+		for (Entry<Object, Object> kv : mavenModel.getProperties().entrySet()) {
+			// can't use 'dots' in template language replacement expressions, change
+			// to underscore
+			mavenProperties.put(kv.getKey().toString().replace('.', '-'), kv.getValue());
+		}
+		return mavenProperties;
+	}
+
+	/**
+	 * Read the pom, reusing an earlier parse while the file is unchanged. The returned
+	 * model is shared and must not be modified.
+	 */
+	private static Model readPom(Path pomFile) {
+		Path key = pomFile.toAbsolutePath().normalize();
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+			CachedPom cached = pomCache.get(key);
+			if (cached == null || !cached.lastModified().equals(attributes.lastModifiedTime())
+					|| cached.size() != attributes.size()) {
+				cached = new CachedPom(attributes.lastModifiedTime(), attributes.size(),
+						new PomReader().readPom(key.toFile()));
+				pomCache.put(key, cached);
 			}
+			return cached.model();
+		}
+		catch (IOException ex) {
+			return new PomReader().readPom(key.toFile());
 		}
 	}
 
@@ -81,4 +115,7 @@ public class MavenModelPopulator implements ModelPopulator {
 
 	}
 
+	private record CachedPom(FileTime lastModified, long size, Model model) {
+	}
+
 }
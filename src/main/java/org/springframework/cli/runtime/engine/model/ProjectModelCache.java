@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.util.RootPackageFinder;
+
+/**
+ * Stores model values which are expensive to compute under
+ * {@code .spring/cache/project-model.properties} of a project. Values are keyed by a
+ * fingerprint of the paths, sizes and modification times of the files under
+ * {@code src/main/java} and of {@code pom.xml}, which is what cached values are computed
+ * from, so they are computed again only when those change. Nothing is stored for
+ * directories without a {@code .spring} directory.
+ */
+public final class ProjectModelCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProjectModelCache.class);
+
+	static final String CACHE_FILE = ".spring/cache/project-model.properties";
+
+	private static final String FINGERPRINT_SUFFIX = ".fingerprint";
+
+	private ProjectModelCache() {
+	}
+
+	/**
+	 * Get cached values or compute and store them.
+	 * @param rootDirectory the project root directory
+	 * @param name the name of the cached values
+	 * @param loader computes the values if they are not cached or out of date
+	 * @return the values
+	 */
+	public static synchronized Map<String, String> get(Path rootDirectory, String name,
+			Supplier<Map<String, String>> loader) {
+		Path cacheFile = rootDirectory.resolve(CACHE_FILE);
+		if (!Files.isDirectory(rootDirectory.resolve(".spring"))) {
+			return loader.get();
+		}
+		String fingerprint = fingerprint(rootDirectory);
+		Properties properties = load(cacheFile);
+		String prefix = name + ".";
+		if (fingerprint != null && fingerprint.equals(properties.getProperty(name + FINGERPRINT_SUFFIX))) {
+			Map<String, String> values = new HashMap<>();
+			for (String key : properties.stringPropertyNames()) {
+				if (key.startsWith(prefix) && !key.equals(name + FINGERPRINT_SUFFIX)) {
+					values.put(key.substring(prefix.length()), properties.getProperty(key));
+				}
+			}
+			logger.debug("Using cached project model values '{}' from {}", name, cacheFile);
+			return values;
+		}
+		Map<String, String> values = loader.get();
+		if (fingerprint != null) {
+			properties.keySet().removeIf(key -> key.toString().startsWith(prefix));
+			values.forEach((key, value) -> properties.setProperty(prefix + key, value));
+			properties.setProperty(name + FINGERPRINT_SUFFIX, fingerprint);
+			store(cacheFile, properties);
+		}
+		return values;
+	}
+
+	/**
+	 * Compute a fingerprint of {@code pom.xml} and the main Java sources from file paths,
+	 * sizes and modification times, without reading file contents.
+	 * @param rootDirectory the project root directory
+	 * @return the fingerprint or {@code null} if the project could not be read
+	 */
+	static String fingerprint(Path rootDirectory) {
+		List<String> entries = new ArrayList<>();
+		try {
+			Path pom = rootDirectory.resolve("pom.xml");
+			if (Files.isRegularFile(pom)) {
+				BasicFileAttributes attrs = Files.readAttributes(pom, BasicFileAttributes.class);
+				entries.add("pom.xml:" + attrs.size() + ":" + attrs.lastModifiedTime().toMillis());
+			}
+			Path mainJava = rootDirectory.resolve("src").resolve("main").resolve("java");
+			if (!Files.isDirectory(mainJava)) {
+				return fingerprint(entries);
+			}
+			Files.walkFileTree(mainJava, new SimpleFileVisitor<>() {
+
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+					if (RootPackageFinder.isSkippedDirectory(rootDirectory, dir)) {
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					entries.add(rootDirectory.relativize(file) + ":" + attrs.size() + ":"
+							+ attrs.lastModifiedTime().toMillis());
+					return FileVisitResult.CONTINUE;
+				}
+
+			});
+		}
+		catch (IOException ex) {
+			logger.debug("Could not compute fingerprint of {}", rootDirectory, ex);
+			return null;
+		}
+		return fingerprint(entries);
+	}
+
+	private static String fingerprint(List<String> entries) {
+		Collections.sort(entries);
+		CRC32 crc = new CRC32();
+		for (String entry : entries) {
+			crc.update(entry.getBytes(StandardCharsets.UTF_8));
+		}
+		return entries.size() + "-" + Long.toHexString(crc.getValue());
+	}
+
+	private static Properties load(Path cacheFile) {
+		Properties properties = new Properties();
+		if (Files.isRegularFile(cacheFile)) {
+			try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+				properties.load(reader);
+			}
+			catch (IOException | IllegalArgumentException ex) {
+				logger.debug("Ignoring unreadable project model cache {}", cacheFile, ex);
+				properties.clear();
+			}
+		}
+		return properties;
+	}
+
+	private static void store(Path cacheFile, Properties properties) {
+		try {
+			Files.createDirectories(cacheFile.getParent());
+			Path tempFile = Files.createTempFile(cacheFile.getParent(), "project-model", ".tmp");
+			try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+				properties.store(writer, null);
+			}
+			Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException ex) {
+			logger.debug("Could not write project model cache {}", cacheFile, ex);
+		}
+	}
+
+}
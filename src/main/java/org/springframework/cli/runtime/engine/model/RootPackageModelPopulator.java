@@ -23,14 +23,25 @@ import java.util.Optional;
 
 import org.springframework.cli.util.RootPackageFinder;
 
+/**
+ * A {@link ModelPopulator} that adds the root package of the project to the model. The
+ * root package is kept in the {@link ProjectModelCache} as finding it requires scanning
+ * the project sources.
+ */
 public class RootPackageModelPopulator implements ModelPopulator {
 
+	private static final String ROOT_PACKAGE = "root-package";
+
 	@Override
 	public void contributeToModel(Path rootDirectory, Map<String, Object> model) {
-		Optional<String> rootPackage = RootPackageFinder.findRootPackage(rootDirectory.toFile());
-		if (rootPackage.isPresent()) {
-			String packageDir = rootPackage.get().replace('.', File.separatorChar);
-			model.put("root-package", rootPackage.get());
+		Map<String, String> values = ProjectModelCache.get(rootDirectory, ROOT_PACKAGE, () -> {
+			Optional<String> rootPackage = RootPackageFinder.findRootPackage(rootDirectory.toFile());
+			return rootPackage.map(name -> Map.of(ROOT_PACKAGE, name)).orElse(Map.of());
+		});
+		String rootPackage = values.get(ROOT_PACKAGE);
+		if (rootPackage != null) {
+			String packageDir = rootPackage.replace('.', File.separatorChar);
+			model.put(ROOT_PACKAGE, rootPackage);
 			model.put("root-package-dir", packageDir);
 		}
 	}
@@ -31,13 +31,15 @@ import org.springframework.core.env.StandardEnvironment;
  */
 public class SystemModelPopulator implements ModelPopulator {
 
+	// system properties and environment are live views, no need to create them again
+	private static final ConfigurableEnvironment environment = new StandardEnvironment();
+
 	@Override
 	public void contributeToModel(Path rootDirectory, Map<String, Object> model) {
 		// Common model variables
 		model.put("now", new Date().toString());
-		ConfigurableEnvironment environment = new StandardEnvironment();
-		model.put("system-properties", environment.getSystemProperties());
-		model.put("system-environment", environment.getSystemEnvironment());
+		LazyModel.putLazy(model, "system-properties", environment::getSystemProperties);
+		LazyModel.putLazy(model, "system-environment", environment::getSystemEnvironment);
 		model.put("tmp-dir", environment.getSystemProperties().get("java.io.tmpdir"));
 		model.put("file-separator", environment.getSystemProperties().get("file.separator"));
 		model.put("os-name", environment.getSystemProperties().get("os.name"));
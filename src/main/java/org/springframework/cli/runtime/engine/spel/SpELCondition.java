@@ -16,6 +16,7 @@
 
 package org.springframework.cli.runtime.engine.spel;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -24,12 +25,33 @@ import org.springframework.expression.BeanResolver;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
+/**
+ * Evaluates a SpEL expression expected to return a boolean. Parsed expressions are cached
+ * by expression text and parser context and run in {@link SpelCompilerMode#MIXED} so
+ * that conditions evaluated again and again get compiled. An evaluation context can be
+ * created once per command run with {@link #createEvaluationContext(BeanResolver)} and
+ * passed to {@link #evaluate(Map, StandardEvaluationContext)}.
+ */
 public class SpELCondition {
 
-	private final ExpressionParser parser = new SpelExpressionParser();
+	private static final int MAX_CACHED_EXPRESSIONS = 256;
+
+	private static final ExpressionParser parser = new SpelExpressionParser(
+			new SpelParserConfiguration(SpelCompilerMode.MIXED, SpELCondition.class.getClassLoader()));
+
+	private static final Map<ExpressionKey, Expression> expressionCache = new LinkedHashMap<>(16, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ExpressionKey, Expression> eldest) {
+			return size() > MAX_CACHED_EXPRESSIONS;
+		}
+
+	};
 
 	private BeanResolver beanResolver;
 
@@ -55,16 +77,34 @@ public class SpELCondition {
 		this.beanResolver = beanResolver;
 	}
 
-	public boolean evaluate(Map<String, Object> model) {
+	/**
+	 * Create an evaluation context which can be reused for evaluating multiple conditions.
+	 * @param beanResolver the optional bean resolver
+	 * @return a new evaluation context
+	 */
+	public static StandardEvaluationContext createEvaluationContext(BeanResolver beanResolver) {
 		StandardEvaluationContext context = new StandardEvaluationContext();
-		context.setRootObject(model);
-		context.setVariables(model);
-
 		if (beanResolver != null) {
 			context.setBeanResolver(beanResolver);
 		}
-		Expression compiledExpression = parser.parseExpression(this.expression, this.parserContext);
-		Object expressionValue = compiledExpression.getValue(context, Object.class);
+		return context;
+	}
+
+	public boolean evaluate(Map<String, Object> model) {
+		return evaluate(model, createEvaluationContext(this.beanResolver));
+	}
+
+	/**
+	 * Evaluate using a given, possibly reused, evaluation context. Root object and
+	 * variables of the context are set from the model.
+	 * @param model the model
+	 * @param context the evaluation context
+	 * @return the evaluation result
+	 */
+	public boolean evaluate(Map<String, Object> model, StandardEvaluationContext context) {
+		context.setRootObject(model);
+		context.setVariables(model);
+		Object expressionValue = getExpression().getValue(context, Object.class);
 		if (Objects.isNull(expressionValue)) {
 			throw new SpringCliException(
 					"'if' expression: '" + this.expression + "' should return boolean.  Instead returned null.");
@@ -80,4 +120,22 @@ public class SpELCondition {
 		}
 	}
 
+	private Expression getExpression() {
+		ExpressionKey key = new ExpressionKey(this.expression, this.parserContext);
+		synchronized (expressionCache) {
+			Expression cached = expressionCache.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		Expression parsed = parser.parseExpression(this.expression, this.parserContext);
+		synchronized (expressionCache) {
+			expressionCache.put(key, parsed);
+		}
+		return parsed;
+	}
+
+	private record ExpressionKey(String expression, ParserContext parserContext) {
+	}
+
 }
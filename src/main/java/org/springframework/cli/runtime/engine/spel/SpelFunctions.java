@@ -22,6 +22,7 @@ import java.util.Map;
 
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.roles.RoleService;
+import org.springframework.cli.roles.RoleVariables;
 import org.springframework.cli.runtime.engine.actions.Exec;
 import org.springframework.cli.runtime.engine.actions.handlers.ExecActionHandler;
 import org.springframework.util.StringUtils;
@@ -30,11 +31,15 @@ public class SpelFunctions {
 
 	private final ExecActionHandler execActionHandler;
 
-	private final Path cwd;
+	private final RoleVariables roleVariables;
 
 	public SpelFunctions(ExecActionHandler execActionHandler, Path cwd) {
+		this(execActionHandler, new RoleVariables(new RoleService(cwd), ""));
+	}
+
+	public SpelFunctions(ExecActionHandler execActionHandler, RoleVariables roleVariables) {
 		this.execActionHandler = execActionHandler;
-		this.cwd = cwd;
+		this.roleVariables = roleVariables;
 	}
 
 	public String run(String input) {
@@ -55,16 +60,11 @@ public class SpelFunctions {
 		if (!StringUtils.hasText(name)) {
 			return false;
 		}
-		RoleService roleService = new RoleService(cwd);
 		// TODO load from default role for now, later a list of roles
-		Map<String, Object> varMap;
-		if (roles.length == 0) {
-			varMap = roleService.loadAsMap("");
-		}
-		else {
+		if (roles.length != 0) {
 			throw new SpringCliException("Roles not yet supported in SpelFunctions");
 		}
-		return varMap != null && !varMap.containsKey(name);
+		return !this.roleVariables.isDefined(name);
 	}
 
 }
@@ -17,24 +17,56 @@
 package org.springframework.cli.runtime.engine.templating;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.HumanizeHelper;
 import com.github.jknack.handlebars.Template;
 import com.github.jknack.handlebars.helper.StringHelpers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.springframework.util.StringUtils;
 
 /**
+ * {@link TemplateEngine} using Handlebars. Compiled templates are kept in a bounded cache
+ * keyed by template text as the same {@code to:} paths, {@code text:} blocks and
+ * expressions are processed again and again while a command runs. The handlebars
+ * {@link Context} is reused for consecutive calls with the same model on the same thread
+ * until {@link #clearContext()} is called.
+ *
  * @author Mark Pollack
  */
 public class HandlebarsTemplateEngine implements TemplateEngine {
 
+	private static final Logger logger = LoggerFactory.getLogger(HandlebarsTemplateEngine.class);
+
+	private static final int MAX_CACHED_TEMPLATES = 256;
+
+	private static final int MAX_CACHED_TEMPLATE_LENGTH = 64 * 1024;
+
 	private Handlebars handlebars;
 
+	private final Map<String, Template> templateCache = new LinkedHashMap<>(16, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+			return size() > MAX_CACHED_TEMPLATES;
+		}
+
+	};
+
+	private final AtomicLong cacheHits = new AtomicLong();
+
+	private final AtomicLong cacheMisses = new AtomicLong();
+
+	private final ThreadLocal<ModelContext> lastContext = new ThreadLocal<>();
+
 	public HandlebarsTemplateEngine() {
 		this.handlebars = new Handlebars();
 		HumanizeHelper.register(this.handlebars);
@@ -43,22 +75,87 @@ public class HandlebarsTemplateEngine implements TemplateEngine {
 
 	@Override
 	public String process(String templateText, Map context) {
+		if (!StringUtils.hasText(templateText)) {
+			return "";
+		}
 		try {
-			Template template = this.handlebars.compileInline(templateText);
+			Template template = getTemplate(templateText);
 			if (context == null) {
 				context = new HashMap();
 			}
-			Context handlebarsContext = Context.newBuilder(context).build();
-			if (StringUtils.hasText(templateText)) {
-				return template.apply(handlebarsContext);
-			}
-			else {
-				return "";
-			}
+			return template.apply(getContext(context));
 		}
 		catch (IOException ex) {
 			throw new RuntimeException(ex);
 		}
 	}
 
+	@Override
+	public void process(String templateText, Map context, Writer writer) throws IOException {
+		if (!StringUtils.hasText(templateText)) {
+			return;
+		}
+		if (context == null) {
+			context = new HashMap();
+		}
+		getTemplate(templateText).apply(getContext(context), writer);
+	}
+
+	@Override
+	public void clearContext() {
+		this.lastContext.remove();
+	}
+
+	/**
+	 * Gets the number of times a compiled template was found in the cache.
+	 * @return the cache hits
+	 */
+	public long getCacheHits() {
+		return this.cacheHits.get();
+	}
+
+	/**
+	 * Gets the number of times a template had to be compiled.
+	 * @return the cache misses
+	 */
+	public long getCacheMisses() {
+		return this.cacheMisses.get();
+	}
+
+	private Template getTemplate(String templateText) throws IOException {
+		if (templateText.length() > MAX_CACHED_TEMPLATE_LENGTH) {
+			this.cacheMisses.incrementAndGet();
+			return this.handlebars.compileInline(templateText);
+		}
+		synchronized (this.templateCache) {
+			Template template = this.templateCache.get(templateText);
+			if (template != null) {
+				this.cacheHits.incrementAndGet();
+				return template;
+			}
+		}
+		Template template = this.handlebars.compileInline(templateText);
+		this.cacheMisses.incrementAndGet();
+		synchronized (this.templateCache) {
+			this.templateCache.put(templateText, template);
+		}
+		if (logger.isTraceEnabled()) {
+			logger.trace("Template cache hits={} misses={}", this.cacheHits.get(), this.cacheMisses.get());
+		}
+		return template;
+	}
+
+	private Context getContext(Map model) {
+		// contexts are not thread safe, actions may render concurrently
+		ModelContext modelContext = this.lastContext.get();
+		if (modelContext == null || modelContext.model() != model) {
+			modelContext = new ModelContext(model, Context.newBuilder(model).build());
+			this.lastContext.set(modelContext);
+		}
+		return modelContext.context();
+	}
+
+	private record ModelContext(Map model, Context context) {
+	}
+
 }
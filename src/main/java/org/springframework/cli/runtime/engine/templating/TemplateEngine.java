@@ -16,10 +16,31 @@
 
 package org.springframework.cli.runtime.engine.templating;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
 
 public interface TemplateEngine {
 
 	String process(String template, Map context);
 
+	/**
+	 * Render a template to a writer. Implementations should stream the output instead of
+	 * rendering it into a string first.
+	 * @param template the template text
+	 * @param context the model
+	 * @param writer the writer to render to
+	 * @throws IOException if the writer fails
+	 */
+	default void process(String template, Map context, Writer writer) throws IOException {
+		writer.write(process(template, context));
+	}
+
+	/**
+	 * Release state kept for the model of the current thread, called once a command run
+	 * is complete so that its model can be garbage collected.
+	 */
+	default void clearContext() {
+	}
+
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.support.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Resolves the base directory used for caches which are kept between cli invocations.
+ * Resolution order is an explicitly configured directory, {@code SPRING_CLI_CACHE_DIR}
+ * env variable, {@code XDG_CACHE_HOME}, {@code LOCALAPPDATA} on Windows and finally
+ * {@code ~/.cache/springcli}.
+ */
+public final class CacheDirectory {
+
+	/**
+	 * Optional env variable for {@code Spring CLI} cache dir.
+	 */
+	public static final String SPRING_CLI_CACHE_DIR = "SPRING_CLI_CACHE_DIR";
+
+	private static final String XDG_CACHE_HOME = "XDG_CACHE_HOME";
+
+	private static final String LOCAL_APP_DATA = "LOCALAPPDATA";
+
+	private static final String CACHE_DIR_NAME = "springcli";
+
+	private CacheDirectory() {
+	}
+
+	/**
+	 * Resolve the cache base directory.
+	 * @param configuredDir explicitly configured directory, may be {@code null}
+	 * @return the cache base directory
+	 */
+	public static Path resolve(String configuredDir) {
+		if (StringUtils.hasText(configuredDir)) {
+			return Paths.get(configuredDir);
+		}
+		if (StringUtils.hasText(System.getenv(SPRING_CLI_CACHE_DIR))) {
+			return Paths.get(System.getenv(SPRING_CLI_CACHE_DIR));
+		}
+		if (StringUtils.hasText(System.getenv(XDG_CACHE_HOME))) {
+			return Paths.get(System.getenv(XDG_CACHE_HOME)).resolve(CACHE_DIR_NAME);
+		}
+		if (isWindows() && StringUtils.hasText(System.getenv(LOCAL_APP_DATA))) {
+			return Paths.get(System.getenv(LOCAL_APP_DATA)).resolve(CACHE_DIR_NAME).resolve("cache");
+		}
+		return Paths.get(System.getProperty("user.home")).resolve(".cache").resolve(CACHE_DIR_NAME);
+	}
+
+	/**
+	 * Create a stable identifier for a value, usable as a file or directory name of a
+	 * cache entry.
+	 * @param value the value, such as a url
+	 * @return the hex encoded SHA-256 hash of the value
+	 */
+	public static String id(String value) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static boolean isWindows() {
+		String os = System.getProperty("os.name");
+		return os.startsWith("Windows");
+	}
+
+}
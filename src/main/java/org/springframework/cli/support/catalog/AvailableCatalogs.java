@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.support.catalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.config.SpringCliUserConfig.CatalogRepositories;
+import org.springframework.cli.config.SpringCliUserConfig.CatalogRepository;
+import org.springframework.cli.git.SourceRepositoryService;
+import org.springframework.cli.support.configfile.YamlConfigFile;
+import org.springframework.cli.util.FileMaterializer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Catalogs which are available to be installed. Only the file listing them is retrieved
+ * and it is kept on disk, so it's retrieved at most once within a time to live. When the
+ * time to live has passed the file is revalidated, it's only written again if it has
+ * changed and a stored file is used if it can't be retrieved.
+ */
+public class AvailableCatalogs {
+
+	/**
+	 * Repository listing the available catalogs.
+	 */
+	public static final String AVAILABLE_CATALOGS_URL = "https://github.com/rd-1-2022/available-catalog-repositories";
+
+	/**
+	 * Name of the file listing the available catalogs.
+	 */
+	public static final String CATALOG_REPOSITORIES_FILE_NAME = "catalog-repositories.yml";
+
+	private static final Logger logger = LoggerFactory.getLogger(AvailableCatalogs.class);
+
+	private final SourceRepositoryService sourceRepositoryService;
+
+	private final Path cacheFile;
+
+	private final Duration timeToLive;
+
+	/**
+	 * Create new available catalogs.
+	 * @param sourceRepositoryService the service retrieving the catalogs listing
+	 * @param cacheFile the file where the listing is stored, {@code null} disables
+	 * storing it
+	 * @param timeToLive how long a stored listing is used without revalidating it
+	 */
+	public AvailableCatalogs(SourceRepositoryService sourceRepositoryService, @Nullable Path cacheFile,
+			Duration timeToLive) {
+		Assert.notNull(sourceRepositoryService, "sourceRepositoryService must be set");
+		Assert.notNull(timeToLive, "timeToLive must be set");
+		this.sourceRepositoryService = sourceRepositoryService;
+		this.cacheFile = cacheFile;
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Create available catalogs which always retrieve the catalogs listing.
+	 * @param sourceRepositoryService the service retrieving the catalogs listing
+	 * @return uncached available catalogs
+	 */
+	public static AvailableCatalogs uncached(SourceRepositoryService sourceRepositoryService) {
+		return new AvailableCatalogs(sourceRepositoryService, null, Duration.ZERO);
+	}
+
+	/**
+	 * Get the available catalogs.
+	 * @return the available catalogs
+	 */
+	public synchronized List<CatalogRepository> getCatalogRepositories() {
+		String cached = readCached();
+		if (cached != null && isFresh()) {
+			return parse(cached);
+		}
+		String contents;
+		try {
+			contents = this.sourceRepositoryService.retrieveFileContents(AVAILABLE_CATALOGS_URL,
+					CATALOG_REPOSITORIES_FILE_NAME);
+		}
+		catch (RuntimeException ex) {
+			if (cached == null) {
+				throw ex;
+			}
+			logger.warn("Unable to retrieve available catalogs, using stored ones: {}", ex.getMessage());
+			return parse(cached);
+		}
+		store(contents, contents.equals(cached));
+		return parse(contents);
+	}
+
+	@Nullable
+	private String readCached() {
+		if (this.cacheFile == null || !Files.isRegularFile(this.cacheFile)) {
+			return null;
+		}
+		try {
+			return Files.readString(this.cacheFile);
+		}
+		catch (IOException ex) {
+			logger.debug("Ignoring unreadable available catalogs " + this.cacheFile, ex);
+			return null;
+		}
+	}
+
+	private boolean isFresh() {
+		try {
+			FileTime lastModified = Files.getLastModifiedTime(this.cacheFile);
+			return lastModified.toInstant().plus(this.timeToLive).isAfter(Instant.now());
+		}
+		catch (IOException ex) {
+			return false;
+		}
+	}
+
+	private void store(String contents, boolean unchanged) {
+		if (this.cacheFile == null) {
+			return;
+		}
+		try {
+			if (unchanged) {
+				// revalidated, only restart its time to live
+				Files.setLastModifiedTime(this.cacheFile, FileTime.from(Instant.now()));
+			}
+			else {
+				FileMaterializer.writeString(this.cacheFile, contents);
+			}
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to store available catalogs " + this.cacheFile, ex);
+		}
+	}
+
+	private static List<CatalogRepository> parse(String contents) {
+		CatalogRepositories catalogRepositories = new YamlConfigFile().read(contents, CatalogRepositories.class);
+		return (catalogRepositories != null) ? catalogRepositories.getCatalogRepositories() : List.of();
+	}
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.support.catalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
+import org.springframework.cli.config.SpringCliUserConfig.ProjectRepositories;
+import org.springframework.cli.config.SpringCliUserConfig.ProjectRepository;
+import org.springframework.cli.git.SourceRepositoryService;
+import org.springframework.cli.support.cache.CacheDirectory;
+import org.springframework.cli.support.configfile.YamlConfigFile;
+import org.springframework.cli.util.FileMaterializer;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Index of projects contained in project catalogs. Only the catalog descriptor file is
+ * retrieved from a catalog repository and descriptors of all catalogs are retrieved
+ * concurrently.
+ *
+ * <p>
+ * Retrieved descriptors are kept on disk. Fresh descriptors are used as is, stale ones
+ * are used right away while they are refreshed concurrently with other catalogs. Pending
+ * refreshes are waited for a bounded time so that a single cli invocation doesn't exit
+ * before they are stored.
+ */
+public class ProjectCatalogIndex {
+
+	/**
+	 * Name of the file describing projects of a catalog.
+	 */
+	public static final String PROJECT_CATALOG_FILE_NAME = "project-catalog.yml";
+
+	private static final Logger logger = LoggerFactory.getLogger(ProjectCatalogIndex.class);
+
+	private static final int MAX_CONCURRENT_FETCHES = 8;
+
+	private static final Duration REFRESH_WAIT = Duration.ofSeconds(5);
+
+	private final SourceRepositoryService sourceRepositoryService;
+
+	private final Path cacheDir;
+
+	private final Duration timeToLive;
+
+	/**
+	 * Create a new index.
+	 * @param sourceRepositoryService the service retrieving catalog descriptors
+	 * @param cacheDir the directory where descriptors are stored, {@code null} disables
+	 * storing them
+	 * @param timeToLive how long a stored descriptor is used without refreshing it
+	 */
+	public ProjectCatalogIndex(SourceRepositoryService sourceRepositoryService, @Nullable Path cacheDir,
+			Duration timeToLive) {
+		Assert.notNull(sourceRepositoryService, "sourceRepositoryService must be set");
+		Assert.notNull(timeToLive, "timeToLive must be set");
+		this.sourceRepositoryService = sourceRepositoryService;
+		this.cacheDir = cacheDir;
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Create an index which always retrieves catalog descriptors.
+	 * @param sourceRepositoryService the service retrieving catalog descriptors
+	 * @return uncached index
+	 */
+	public static ProjectCatalogIndex uncached(SourceRepositoryService sourceRepositoryService) {
+		return new ProjectCatalogIndex(sourceRepositoryService, null, Duration.ZERO);
+	}
+
+	/**
+	 * Get projects of the given catalogs, in catalog order.
+	 * @param projectCatalogs the catalogs
+	 * @return projects of each catalog
+	 */
+	public List<CatalogProjects> getProjects(List<ProjectCatalog> projectCatalogs) {
+		return getProjects(projectCatalogs, false);
+	}
+
+	/**
+	 * Get projects of the given catalogs retrieving all catalog descriptors again.
+	 * @param projectCatalogs the catalogs
+	 * @return projects of each catalog
+	 */
+	public List<CatalogProjects> refresh(List<ProjectCatalog> projectCatalogs) {
+		return getProjects(projectCatalogs, true);
+	}
+
+	private List<CatalogProjects> getProjects(List<ProjectCatalog> projectCatalogs, boolean refresh) {
+		if (projectCatalogs.isEmpty()) {
+			return List.of();
+		}
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("catalog-");
+		threadFactory.setDaemon(true);
+		ExecutorService executor = Executors
+			.newFixedThreadPool(Math.min(projectCatalogs.size(), MAX_CONCURRENT_FETCHES), threadFactory);
+		try {
+			List<CompletableFuture<Void>> refreshes = Collections.synchronizedList(new ArrayList<>());
+			List<CompletableFuture<CatalogProjects>> futures = new ArrayList<>();
+			for (ProjectCatalog projectCatalog : projectCatalogs) {
+				futures.add(CompletableFuture.supplyAsync(() -> load(projectCatalog, refresh, executor, refreshes),
+						executor));
+			}
+			List<CatalogProjects> result = new ArrayList<>();
+			for (CompletableFuture<CatalogProjects> future : futures) {
+				try {
+					result.add(future.join());
+				}
+				catch (CompletionException ex) {
+					if (ex.getCause() instanceof RuntimeException runtimeException) {
+						throw runtimeException;
+					}
+					throw ex;
+				}
+			}
+			awaitRefreshes(refreshes);
+			return result;
+		}
+		finally {
+			// refreshes not done in time keep running on daemon threads
+			executor.shutdown();
+		}
+	}
+
+	private static void awaitRefreshes(List<CompletableFuture<Void>> refreshes) {
+		if (refreshes.isEmpty()) {
+			return;
+		}
+		try {
+			CompletableFuture.allOf(refreshes.toArray(new CompletableFuture<?>[0]))
+				.get(REFRESH_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException | ExecutionException ex) {
+			logger.debug("Stale catalogs not refreshed within {}", REFRESH_WAIT);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private CatalogProjects load(ProjectCatalog projectCatalog, boolean refresh, ExecutorService executor,
+			List<CompletableFuture<Void>> refreshes) {
+		String url = projectCatalog.getUrl();
+		Path cacheFile = cacheFile(url);
+		if (!refresh && cacheFile != null && Files.isRegularFile(cacheFile)) {
+			try {
+				String contents = Files.readString(cacheFile);
+				if (Files.getLastModifiedTime(cacheFile).toInstant().plus(this.timeToLive).isBefore(Instant.now())) {
+					logger.debug("Refreshing stale catalog {}", url);
+					refreshes.add(CompletableFuture.runAsync(() -> {
+						try {
+							fetch(url, cacheFile);
+						}
+						catch (RuntimeException ex) {
+							logger.debug("Unable to refresh catalog " + url, ex);
+						}
+					}, executor));
+				}
+				return new CatalogProjects(projectCatalog, parse(contents));
+			}
+			catch (IOException | RuntimeException ex) {
+				logger.debug("Ignoring unreadable cached catalog " + url, ex);
+			}
+		}
+		return new CatalogProjects(projectCatalog, parse(fetch(url, cacheFile)));
+	}
+
+	private String fetch(String url, @Nullable Path cacheFile) {
+		String contents = this.sourceRepositoryService.retrieveFileContents(url, PROJECT_CATALOG_FILE_NAME);
+		if (cacheFile != null) {
+			try {
+				FileMaterializer.writeString(cacheFile, contents);
+			}
+			catch (IOException ex) {
+				logger.debug("Unable to cache catalog " + url, ex);
+			}
+		}
+		return contents;
+	}
+
+	private static List<ProjectRepository> parse(String contents) {
+		ProjectRepositories projectRepositories = new YamlConfigFile().read(contents, ProjectRepositories.class);
+		return (projectRepositories != null) ? projectRepositories.getProjectRepositories() : List.of();
+	}
+
+	@Nullable
+	private Path cacheFile(String url) {
+		if (this.cacheDir == null) {
+			return null;
+		}
+		return this.cacheDir.resolve(CacheDirectory.id(url) + ".yml");
+	}
+
+	/**
+	 * Projects of a catalog.
+	 *
+	 * @param projectCatalog the catalog
+	 * @param projectRepositories the projects of the catalog
+	 */
+	public record CatalogProjects(ProjectCatalog projectCatalog, List<ProjectRepository> projectRepositories) {
+	}
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.support.catalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
+import org.springframework.cli.config.SpringCliUserConfig.ProjectRepository;
+import org.springframework.cli.support.catalog.ProjectCatalogIndex.CatalogProjects;
+import org.springframework.cli.util.FileMaterializer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Index resolving project names into project urls for projects contained in project
+ * catalogs. The index keeps names of each catalog separately and is kept on disk, so a
+ * lookup doesn't need to retrieve any catalog. Catalogs which are installed after the
+ * index was built are added to it and removed catalogs are dropped from it on the next
+ * lookup. If a name is not found, catalogs are indexed again in case they got new
+ * projects.
+ */
+public class ProjectNameIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProjectNameIndex.class);
+
+	private static final TypeReference<LinkedHashMap<String, Map<String, String>>> INDEX_TYPE = new TypeReference<>() {
+	};
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final ProjectCatalogIndex projectCatalogIndex;
+
+	private final Path indexFile;
+
+	// catalog url to project urls by normalized project name
+	private Map<String, Map<String, String>> index;
+
+	/**
+	 * Create a new index.
+	 * @param projectCatalogIndex the index used to get projects of catalogs
+	 * @param indexFile the file where the index is stored, {@code null} keeps the index
+	 * only in memory
+	 */
+	public ProjectNameIndex(ProjectCatalogIndex projectCatalogIndex, @Nullable Path indexFile) {
+		Assert.notNull(projectCatalogIndex, "projectCatalogIndex must be set");
+		this.projectCatalogIndex = projectCatalogIndex;
+		this.indexFile = indexFile;
+	}
+
+	/**
+	 * Find the url of a project by its name. Catalogs are searched in order and the
+	 * first match wins.
+	 * @param projectCatalogs the installed catalogs
+	 * @param projectName the project name, matched ignoring case
+	 * @return the project url or {@code null} if no catalog contains the project
+	 */
+	@Nullable
+	public synchronized String findUrl(List<ProjectCatalog> projectCatalogs, String projectName) {
+		if (projectCatalogs.isEmpty()) {
+			return null;
+		}
+		Map<String, Map<String, String>> index = getIndex();
+		boolean changed = index.keySet().retainAll(projectCatalogs.stream().map(ProjectCatalog::getUrl).toList());
+		List<ProjectCatalog> missing = projectCatalogs.stream()
+			.filter((projectCatalog) -> !index.containsKey(projectCatalog.getUrl()))
+			.toList();
+		if (!missing.isEmpty()) {
+			add(index, this.projectCatalogIndex.getProjects(missing));
+			changed = true;
+		}
+		String url = lookup(index, projectCatalogs, projectName);
+		if (url == null) {
+			// catalogs may have new projects since they were indexed
+			changed |= add(index, this.projectCatalogIndex.getProjects(projectCatalogs));
+			url = lookup(index, projectCatalogs, projectName);
+		}
+		if (changed) {
+			save(index);
+		}
+		return url;
+	}
+
+	/**
+	 * Build the index again retrieving all catalogs.
+	 * @param projectCatalogs the installed catalogs
+	 * @return the number of indexed projects
+	 */
+	public synchronized int rebuild(List<ProjectCatalog> projectCatalogs) {
+		Map<String, Map<String, String>> index = new LinkedHashMap<>();
+		add(index, this.projectCatalogIndex.refresh(projectCatalogs));
+		this.index = index;
+		save(index);
+		return index.values().stream().mapToInt(Map::size).sum();
+	}
+
+	@Nullable
+	private static String lookup(Map<String, Map<String, String>> index, List<ProjectCatalog> projectCatalogs,
+			String projectName) {
+		String name = normalize(projectName);
+		for (ProjectCatalog projectCatalog : projectCatalogs) {
+			Map<String, String> names = index.get(projectCatalog.getUrl());
+			String url = (names != null) ? names.get(name) : null;
+			if (StringUtils.hasText(url)) {
+				return url;
+			}
+		}
+		return null;
+	}
+
+	private static boolean add(Map<String, Map<String, String>> index, List<CatalogProjects> catalogProjects) {
+		boolean changed = false;
+		for (CatalogProjects projects : catalogProjects) {
+			Map<String, String> names = new LinkedHashMap<>();
+			for (ProjectRepository projectRepository : projects.projectRepositories()) {
+				if (projectRepository.getName() != null) {
+					names.putIfAbsent(normalize(projectRepository.getName()),
+							(projectRepository.getUrl() != null) ? projectRepository.getUrl() : "");
+				}
+			}
+			changed |= !names.equals(index.put(projects.projectCatalog().getUrl(), names));
+		}
+		return changed;
+	}
+
+	private static String normalize(String projectName) {
+		return projectName.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private Map<String, Map<String, String>> getIndex() {
+		if (this.index == null) {
+			this.index = load();
+		}
+		return this.index;
+	}
+
+	private Map<String, Map<String, String>> load() {
+		if (this.indexFile != null && Files.isRegularFile(this.indexFile)) {
+			try {
+				return this.objectMapper.readValue(this.indexFile.toFile(), INDEX_TYPE);
+			}
+			catch (IOException ex) {
+				logger.debug("Ignoring unreadable project name index " + this.indexFile, ex);
+			}
+		}
+		return new LinkedHashMap<>();
+	}
+
+	private void save(Map<String, Map<String, String>> index) {
+		if (this.indexFile == null) {
+			return;
+		}
+		try {
+			FileMaterializer.writeString(this.indexFile, this.objectMapper.writeValueAsString(index));
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to store project name index " + this.indexFile, ex);
+		}
+	}
+
+}
@@ -51,6 +51,22 @@ public class YamlConfigFile implements ConfigFile {
 		}
 	}
 
+	/**
+	 * Read a value from YAML content.
+	 * @param <T> the type of the value
+	 * @param content the YAML content
+	 * @param type the type of the value
+	 * @return the value
+	 */
+	public <T> T read(String content, Class<T> type) {
+		try {
+			return mapper.readValue(content, type);
+		}
+		catch (Exception ex) {
+			throw new RuntimeException("Unable to read YAML content", ex);
+		}
+	}
+
 	@Override
 	public void write(Path path, Object value) {
 		try {
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jline.utils.AttributedString;
+
+/**
+ * {@link TerminalMessage} which keeps messages until they are written to another
+ * {@link TerminalMessage} with {@link #flushTo(TerminalMessage)}. Used to print output
+ * of concurrently running work in a deterministic order.
+ */
+public class BufferedTerminalMessage implements TerminalMessage {
+
+	private final List<Consumer<TerminalMessage>> messages = new ArrayList<>();
+
+	@Override
+	public synchronized void print(String... text) {
+		this.messages.add((terminalMessage) -> terminalMessage.print(text));
+	}
+
+	@Override
+	public synchronized void print(AttributedString... text) {
+		this.messages.add((terminalMessage) -> terminalMessage.print(text));
+	}
+
+	/**
+	 * Print buffered messages to a given terminal message and clear the buffer.
+	 * @param terminalMessage the terminal message to print to
+	 */
+	public synchronized void flushTo(TerminalMessage terminalMessage) {
+		for (Consumer<TerminalMessage> message : this.messages) {
+			message.accept(terminalMessage);
+		}
+		this.messages.clear();
+	}
+
+}
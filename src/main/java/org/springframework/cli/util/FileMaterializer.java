@@ -0,0 +1,223 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Materializes files of a retrieved project into a target directory.
+ *
+ * <p>
+ * When a source directory is owned by the caller and lives on the same file store as the
+ * target, files are simply moved which avoids copying any bytes. Otherwise files are
+ * copied in parallel using {@link FileChannel#transferTo} which lets the platform do the
+ * copy without moving data through the heap. Executable bits are preserved in both cases.
+ */
+public final class FileMaterializer {
+
+	private static final Logger logger = LoggerFactory.getLogger(FileMaterializer.class);
+
+	private FileMaterializer() {
+	}
+
+	/**
+	 * Move or copy all files from a source directory into a target directory. Source
+	 * directory is consumed and its contents should not be used afterwards.
+	 * @param sourceDir the source directory
+	 * @param targetDir the target directory, created if needed
+	 * @throws IOException if files cannot be moved or copied
+	 */
+	public static void moveOrCopy(Path sourceDir, Path targetDir) throws IOException {
+		Files.createDirectories(targetDir);
+		List<Path> files = listFiles(sourceDir);
+		if (isSameFileStore(sourceDir, targetDir)) {
+			logger.debug("Moving {} files from {} to {}", files.size(), sourceDir, targetDir);
+			for (Path file : files) {
+				Path destFile = targetDir.resolve(sourceDir.relativize(file).toString());
+				Files.createDirectories(destFile.getParent());
+				Files.move(file, destFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		else {
+			logger.debug("Copying {} files from {} to {}", files.size(), sourceDir, targetDir);
+			copyFiles(files, sourceDir, targetDir);
+		}
+	}
+
+	/**
+	 * Copy all files from a source directory into a target directory in parallel.
+	 * @param sourceDir the source directory
+	 * @param targetDir the target directory, created if needed
+	 * @throws IOException if files cannot be copied
+	 */
+	public static void copy(Path sourceDir, Path targetDir) throws IOException {
+		Files.createDirectories(targetDir);
+		copyFiles(listFiles(sourceDir), sourceDir, targetDir);
+	}
+
+	/**
+	 * Copy files in parallel.
+	 * @param files mapping from source files to destination files
+	 * @throws IOException if files cannot be copied
+	 */
+	public static void copyFiles(Map<Path, Path> files) throws IOException {
+		try {
+			files.entrySet().parallelStream().forEach((entry) -> {
+				try {
+					copyFile(entry.getKey(), entry.getValue());
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			});
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	/**
+	 * Copy a single file, replacing an existing destination file.
+	 * @param sourceFile the source file
+	 * @param destFile the destination file
+	 * @throws IOException if file cannot be copied
+	 */
+	public static void copyFile(Path sourceFile, Path destFile) throws IOException {
+		Files.createDirectories(destFile.toAbsolutePath().getParent());
+		if (Files.isSymbolicLink(sourceFile)) {
+			Files.copy(sourceFile, destFile, StandardCopyOption.REPLACE_EXISTING, LinkOption.NOFOLLOW_LINKS);
+			return;
+		}
+		try (FileChannel in = FileChannel.open(sourceFile, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(destFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			long size = in.size();
+			long position = 0;
+			while (position < size) {
+				position += in.transferTo(position, size - position, out);
+			}
+		}
+		if (Files.isExecutable(sourceFile)) {
+			destFile.toFile().setExecutable(true);
+		}
+	}
+
+	/**
+	 * Create an empty temporary file in the directory of a given file. Unlike
+	 * {@link Files#createTempFile} the file gets default permissions, so it can be moved
+	 * in place of the given file with {@link #replaceFile(Path, Path)}.
+	 * @param targetFile the file the temporary file is for
+	 * @return the temporary file
+	 * @throws IOException if file cannot be created
+	 */
+	public static Path createTempFileFor(Path targetFile) throws IOException {
+		Path dir = targetFile.toAbsolutePath().getParent();
+		String name = "." + targetFile.getFileName() + ".";
+		while (true) {
+			try {
+				return Files.createFile(dir.resolve(name + Long.toHexString(System.nanoTime()) + ".tmp"));
+			}
+			catch (FileAlreadyExistsException ex) {
+				// try again with another name
+			}
+		}
+	}
+
+	/**
+	 * Move a file in place of another one, atomically if the file system supports it, so
+	 * that the target file is never seen half written. Permissions of an existing target
+	 * file are kept.
+	 * @param sourceFile the file to move, usually a temporary file next to the target
+	 * @param targetFile the file to replace
+	 * @throws IOException if file cannot be moved
+	 */
+	public static void replaceFile(Path sourceFile, Path targetFile) throws IOException {
+		if (Files.exists(targetFile)) {
+			try {
+				Files.setPosixFilePermissions(sourceFile, Files.getPosixFilePermissions(targetFile));
+			}
+			catch (UnsupportedOperationException ex) {
+				// not a posix file system
+			}
+		}
+		try {
+			Files.move(sourceFile, targetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException ex) {
+			Files.move(sourceFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Write a file by writing a temporary file next to it and moving that in place, so
+	 * that concurrent readers never see a partially written file.
+	 * @param file the file to write
+	 * @param content the content to write as UTF-8
+	 * @throws IOException if file cannot be written
+	 */
+	public static void writeString(Path file, String content) throws IOException {
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		Path tempFile = createTempFileFor(file);
+		try {
+			Files.writeString(tempFile, content);
+			replaceFile(tempFile, file);
+		}
+		finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private static void copyFiles(List<Path> files, Path sourceDir, Path targetDir) throws IOException {
+		Map<Path, Path> mapping = new HashMap<>();
+		for (Path file : files) {
+			mapping.put(file, targetDir.resolve(sourceDir.relativize(file).toString()));
+		}
+		copyFiles(mapping);
+	}
+
+	private static List<Path> listFiles(Path sourceDir) throws IOException {
+		try (Stream<Path> stream = Files.walk(sourceDir)) {
+			return stream.filter((path) -> !Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)).toList();
+		}
+	}
+
+	private static boolean isSameFileStore(Path sourceDir, Path targetDir) {
+		try {
+			return Files.getFileStore(sourceDir).equals(Files.getFileStore(targetDir));
+		}
+		catch (IOException ex) {
+			return false;
+		}
+	}
+
+}
@@ -16,10 +16,9 @@
 
 package org.springframework.cli.util;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
 import java.nio.file.Files;
 
 import org.apache.maven.model.Model;
@@ -42,16 +41,15 @@ public class PomReader {
 		if (!pom.exists()) {
 			return null;
 		}
-		String fileText = "";
-		try (Reader reader = new FileReader(pom)) {
-			if (file.isFile()) {
-				fileText = new String(Files.readAllBytes(file.toPath()));
-			}
+		byte[] content = new byte[0];
+		try {
+			// read the file once and parse from memory
+			content = Files.readAllBytes(pom.toPath());
 			MavenXpp3Reader xpp3Reader = new MavenXpp3Reader();
-			return xpp3Reader.read(reader);
+			return xpp3Reader.read(new ByteArrayInputStream(content));
 		}
 		catch (XmlPullParserException | IOException ex) {
-			if (file.isFile() && fileText.length() == 0) {
+			if (file.isFile() && content.length == 0) {
 				throw new IllegalStateException("File [" + pom.getAbsolutePath() + "] is empty", ex);
 			}
 			throw new IllegalStateException("Failed to read file: " + pom.getAbsolutePath(), ex);
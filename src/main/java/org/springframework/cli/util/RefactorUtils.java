@@ -17,23 +17,30 @@
 package org.springframework.cli.util;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
-import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.ExecutionContext;
 import org.openrewrite.RecipeRun;
 import org.openrewrite.Result;
 import org.openrewrite.SourceFile;
 import org.openrewrite.internal.InMemoryLargeSourceSet;
 import org.openrewrite.java.ChangePackage;
-import org.openrewrite.java.Java17Parser;
-import org.openrewrite.java.JavaParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.cli.SpringCliException;
+import org.springframework.cli.recipe.SourceParsers;
+import org.springframework.lang.Nullable;
 
 public final class RefactorUtils {
 
@@ -42,8 +49,14 @@ public final class RefactorUtils {
 
 	private static final Logger logger = LoggerFactory.getLogger(RefactorUtils.class);
 
+	// decodes any bytes and writes them back unchanged, package names are plain ascii
+	private static final Charset SOURCE_CHARSET = StandardCharsets.ISO_8859_1;
+
+	private static final Pattern PACKAGE_PATTERN = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;",
+			Pattern.MULTILINE);
+
 	public static void refactorPackage(String newPackage, String oldPackage, Path workingPath) {
-		JavaParser javaParser = new Java17Parser.Builder().build();
+		long start = System.nanoTime();
 		FileTypeCollectingFileVisitor collector = new FileTypeCollectingFileVisitor(".java");
 		try {
 			Files.walkFileTree(workingPath, collector);
@@ -51,26 +64,114 @@ public final class RefactorUtils {
 		catch (IOException ex) {
 			throw new SpringCliException("Failed reading files in " + workingPath, ex);
 		}
-		Consumer<Throwable> onError = e -> {
-			logger.error("error in javaParser execution", e);
-		};
-		InMemoryExecutionContext executionContext = new InMemoryExecutionContext(onError);
 		List<Path> matches = collector.getMatches();
-		List<SourceFile> compilationUnits = javaParser.parse(matches, null, executionContext).toList();
+
+		// Only files mentioning the old package can be affected, if all of them mention
+		// it only in their package declaration a plain text rewrite and move is enough.
+		List<Path> candidates = new ArrayList<>();
+		Map<Path, String> packageOnlyFiles = new LinkedHashMap<>();
+		boolean asciiPackages = StandardCharsets.US_ASCII.newEncoder().canEncode(oldPackage + newPackage);
+		try {
+			for (Path path : matches) {
+				String content = Files.readString(path, SOURCE_CHARSET);
+				if (asciiPackages && !content.contains(oldPackage)) {
+					continue;
+				}
+				candidates.add(path);
+				if (asciiPackages && getPackageOnlyDeclaration(content, oldPackage) != null) {
+					packageOnlyFiles.put(path, content);
+				}
+			}
+			long scanned = System.nanoTime();
+			if (packageOnlyFiles.size() == candidates.size()) {
+				for (Map.Entry<Path, String> entry : packageOnlyFiles.entrySet()) {
+					movePackage(entry.getKey(), entry.getValue(), oldPackage, newPackage, workingPath);
+				}
+			}
+			else {
+				changePackage(candidates, oldPackage, newPackage);
+			}
+			logger.debug("Refactored package {} to {} in {} ms, scan of {} files took {} ms, {} files {}", oldPackage,
+					newPackage, (System.nanoTime() - start) / 1_000_000, matches.size(), (scanned - start) / 1_000_000,
+					candidates.size(), (packageOnlyFiles.size() == candidates.size()) ? "moved" : "parsed");
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Error performing refactoring", ex);
+		}
+
+		// TODO change groupId and artifactId
+	}
+
+	private static void changePackage(List<Path> paths, String oldPackage, String newPackage) throws IOException {
+		SourceParsers sourceParsers = SourceParsers.getInstance();
+		ExecutionContext executionContext = sourceParsers.createExecutionContext();
+		List<SourceFile> compilationUnits = sourceParsers.parseJava(paths, null, executionContext);
 		ResultsExecutor container = new ResultsExecutor();
 
 		ChangePackage recipe = new ChangePackage(oldPackage, newPackage, true);
 		RecipeRun run = recipe.run(new InMemoryLargeSourceSet(compilationUnits), executionContext);
 		List<Result> results = run.getChangeset().getAllResults();
 		container.addAll(results);
-		try {
-			container.execute();
+		container.execute();
+	}
+
+	/**
+	 * Gets the declared package if the old package, or one of its sub packages, is only
+	 * referenced in the package declaration of a file.
+	 */
+	@Nullable
+	private static String getPackageOnlyDeclaration(String content, String oldPackage) {
+		Matcher matcher = PACKAGE_PATTERN.matcher(content);
+		if (!matcher.find()) {
+			return null;
 		}
-		catch (IOException ex) {
-			throw new SpringCliException("Error performing refactoring", ex);
+		String declaredPackage = matcher.group(1);
+		if (!declaredPackage.equals(oldPackage) && !declaredPackage.startsWith(oldPackage + ".")) {
+			return null;
+		}
+		if (content.indexOf(oldPackage, matcher.end()) >= 0 || content.lastIndexOf(oldPackage, matcher.start()) >= 0) {
+			return null;
 		}
+		return declaredPackage;
+	}
 
-		// TODO change groupId and artifactId
+	private static void movePackage(Path path, String content, String oldPackage, String newPackage,
+			Path workingPath) throws IOException {
+		Matcher matcher = PACKAGE_PATTERN.matcher(content);
+		matcher.find();
+		String declaredPackage = matcher.group(1);
+		String movedPackage = newPackage + declaredPackage.substring(oldPackage.length());
+		String movedContent = content.substring(0, matcher.start(1)) + movedPackage + content.substring(matcher.end(1));
+
+		Path target = path;
+		Path packageDir = Path.of(declaredPackage.replace('.', '/'));
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent.endsWith(packageDir)) {
+			Path sourceRoot = parent;
+			for (int i = 0; i < packageDir.getNameCount(); i++) {
+				sourceRoot = sourceRoot.getParent();
+			}
+			target = sourceRoot.resolve(movedPackage.replace('.', '/')).resolve(path.getFileName());
+		}
+		Files.createDirectories(target.getParent());
+		Files.writeString(target, movedContent, SOURCE_CHARSET);
+		if (!target.equals(path.toAbsolutePath())) {
+			Files.delete(path);
+			deleteUpwardsUntilNotEmpty(parent, workingPath.toAbsolutePath());
+		}
+	}
+
+	private static void deleteUpwardsUntilNotEmpty(Path dir, Path stopDir) throws IOException {
+		if (dir.equals(stopDir) || !Files.isDirectory(dir)) {
+			return;
+		}
+		try (Stream<Path> entries = Files.list(dir)) {
+			if (entries.findFirst().isPresent()) {
+				return;
+			}
+		}
+		Files.delete(dir);
+		deleteUpwardsUntilNotEmpty(dir.getParent(), stopDir);
 	}
 
 }
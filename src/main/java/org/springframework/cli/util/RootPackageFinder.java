@@ -18,83 +18,155 @@ package org.springframework.cli.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.tools.ant.DirectoryScanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.cli.SpringCliException;
 
+/**
+ * Finds the class annotated with {@code @SpringBootApplication} and the root package of a
+ * project.
+ *
+ * <p>
+ * Found application files are kept in an index shared by all callers so that a project
+ * is scanned only once even though a single command asks for its root package several
+ * times. An indexed entry is verified before use and a project is scanned again if the
+ * application file has been moved or changed. Scanning looks at {@code src/main/java}
+ * first, reads files in parallel, only looks at the beginning of each file and stops at
+ * the first match.
+ */
 public final class RootPackageFinder {
 
 	private static final Logger logger = LoggerFactory.getLogger(RootPackageFinder.class);
 
+	private static final String ANNOTATION = "@SpringBootApplication";
+
+	private static final int SCAN_LIMIT = 64 * 1024;
+
+	private static final Set<String> SKIPPED_DIRECTORIES = Set.of("target", "build", "node_modules");
+
+	private static final Map<Path, Path> index = new ConcurrentHashMap<>();
+
 	private RootPackageFinder() {
 	}
 
 	public static Optional<String> findRootPackage(File baseDirectory) {
-		String[] fileNames = getFileNames(baseDirectory);
-
-		for (String fileName : fileNames) {
-			logger.debug("Looking for @SpringBootApplication in file = " + fileName);
-			try {
-				File fileToTest = new File(baseDirectory, fileName);
-				List<String> lines = Files.lines(fileToTest.toPath())
-					.filter(line -> line.contains("@SpringBootApplication"))
-					.collect(Collectors.toList());
-				if (lines.isEmpty()) {
-					continue;
-				}
-				else {
-					return Optional.of(extractRootPackageName(new File(fileName)));
-				}
-			}
-			catch (IOException ex) {
-				throw new SpringCliException("Exception reading " + fileName + " " + ex.getMessage(), ex);
+		Path basePath = baseDirectory.toPath().toAbsolutePath().normalize();
+		return findApplicationPath(basePath)
+			.map(path -> extractRootPackageName(basePath.relativize(path).toFile()));
+	}
 
-			}
+	public static Optional<File> findSpringBootApplicationFile(File baseDirectory) {
+		Path basePath = baseDirectory.toPath().toAbsolutePath().normalize();
+		return findApplicationPath(basePath).map(path -> new File(baseDirectory, basePath.relativize(path).toString()));
+	}
+
+	/**
+	 * Clear indexed application files.
+	 */
+	public static void clearIndex() {
+		index.clear();
+	}
+
+	private static Optional<Path> findApplicationPath(Path basePath) {
+		Path indexed = index.get(basePath);
+		if (indexed != null && containsAnnotation(indexed)) {
+			return Optional.of(indexed);
 		}
-		return Optional.empty();
+		long start = System.nanoTime();
+		Path mainJava = basePath.resolve("src").resolve("main").resolve("java");
+		Optional<Path> found = scan(basePath, mainJava, null);
+		if (found.isEmpty()) {
+			found = scan(basePath, basePath, mainJava);
+		}
+		logger.debug("Scanned {} for {} in {} ms", basePath, ANNOTATION, (System.nanoTime() - start) / 1_000_000);
+		if (found.isPresent()) {
+			index.put(basePath, found.get());
+		}
+		else {
+			index.remove(basePath);
+		}
+		return found;
 	}
 
-	public static Optional<File> findSpringBootApplicationFile(File baseDirectory) {
-		String[] fileNames = getFileNames(baseDirectory);
-		for (String fileName : fileNames) {
-			logger.debug("Looking for @SpringBootApplication in file = " + fileName);
-			try {
-				File fileToTest = new File(baseDirectory, fileName);
-				List<String> lines = Files.lines(fileToTest.toPath())
-					.filter(line -> line.contains("@SpringBootApplication"))
-					.collect(Collectors.toList());
-				if (lines.isEmpty()) {
-					continue;
+	/**
+	 * Return {@code true} if a directory of a project is never scanned. Hidden
+	 * directories are skipped everywhere while build output and dependency directories
+	 * are only skipped as direct children of the project root, as packages may use the
+	 * same names.
+	 * @param rootDirectory the project root directory
+	 * @param dir the directory
+	 * @return if the directory is skipped
+	 */
+	public static boolean isSkippedDirectory(Path rootDirectory, Path dir) {
+		if (dir.equals(rootDirectory) || dir.getFileName() == null) {
+			return false;
+		}
+		String name = dir.getFileName().toString();
+		return name.startsWith(".") || (SKIPPED_DIRECTORIES.contains(name) && rootDirectory.equals(dir.getParent()));
+	}
+
+	private static Optional<Path> scan(Path basePath, Path dir, Path skipDir) {
+		if (!Files.isDirectory(dir)) {
+			return Optional.empty();
+		}
+		List<Path> javaFiles = new ArrayList<>();
+		try {
+			Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+
+				@Override
+				public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes attrs) {
+					if (path.equals(skipDir) || (!path.equals(dir) && isSkippedDirectory(basePath, path))) {
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					return FileVisitResult.CONTINUE;
 				}
-				else {
-					return Optional.of(new File(baseDirectory, fileName));
+
+				@Override
+				public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+					if (path.getFileName().toString().endsWith(".java")) {
+						javaFiles.add(path);
+					}
+					return FileVisitResult.CONTINUE;
 				}
-			}
-			catch (IOException ex) {
-				ex.printStackTrace();
-				throw new SpringCliException("Exception reading " + fileName + " " + ex.getMessage(), ex);
 
-			}
+			});
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Exception reading " + dir + " " + ex.getMessage(), ex);
 		}
-		return Optional.empty();
+		Collections.sort(javaFiles);
+		return javaFiles.parallelStream().filter(RootPackageFinder::containsAnnotation).findFirst();
 	}
 
-	private static String[] getFileNames(File baseDirectory) {
-		DirectoryScanner ds = new DirectoryScanner();
-		String[] includes = { "**\\*.java" };
-		ds.setBasedir(baseDirectory);
-		ds.setIncludes(includes);
-		ds.scan();
-		String[] fileNames = ds.getIncludedFiles();
-		return fileNames;
+	private static boolean containsAnnotation(Path path) {
+		logger.debug("Looking for {} in file = {}", ANNOTATION, path);
+		try (InputStream inputStream = Files.newInputStream(path)) {
+			String head = new String(inputStream.readNBytes(SCAN_LIMIT), StandardCharsets.UTF_8);
+			return head.contains(ANNOTATION);
+		}
+		catch (NoSuchFileException ex) {
+			return false;
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Exception reading " + path + " " + ex.getMessage(), ex);
+		}
 	}
 
 	public static String extractRootPackageName(File file) {
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.git;
+
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.jimfs.Jimfs;
+import org.gitlab4j.api.GitLabApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cli.SpringCliException;
+import org.springframework.cli.config.SpringCliUserConfig;
+import org.springframework.cli.config.SpringCliUserConfig.Host;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class GitClientRegistryTests {
+
+	private static final URI GITLAB_URI = URI.create("https://gitlab.example.com/group/project");
+
+	private SpringCliUserConfig userConfig;
+
+	private GitClientRegistry registry;
+
+	@BeforeEach
+	void setup() {
+		FileSystem fileSystem = Jimfs.newFileSystem();
+		this.userConfig = new SpringCliUserConfig((path) -> fileSystem.getPath(path));
+		this.registry = new GitClientRegistry(this.userConfig, null, 0, Duration.ofMinutes(1));
+	}
+
+	@AfterEach
+	void close() {
+		this.registry.close();
+	}
+
+	@Test
+	void gitLabClientIsSharedPerHostAndToken() {
+		this.userConfig.updateHost("gitlab.example.com", Host.of("token", "user"));
+		GitLabApi gitLabApi = this.registry.getGitLabApi(GITLAB_URI);
+		assertThat(this.registry.getGitLabApi(URI.create("https://gitlab.example.com/group/other")))
+			.isSameAs(gitLabApi);
+
+		this.userConfig.updateHost("gitlab.example.com", Host.of("other-token", "user"));
+		assertThat(this.registry.getGitLabApi(GITLAB_URI)).isNotSameAs(gitLabApi);
+	}
+
+	@Test
+	void gitLabClientRequiresToken() {
+		assertThatExceptionOfType(SpringCliException.class).isThrownBy(() -> this.registry.getGitLabApi(GITLAB_URI))
+			.withMessageContaining("Access token not provided");
+	}
+
+	@Test
+	void resolvedRefIsRemembered() {
+		AtomicInteger resolved = new AtomicInteger();
+		GitClientRegistry.RefResolver<RuntimeException> resolver = () -> "sha" + resolved.incrementAndGet();
+		assertThat(this.registry.resolveRef("https://github.com/org/repo", "main", resolver)).isEqualTo("sha1");
+		assertThat(this.registry.resolveRef("https://github.com/org/repo", "main", resolver)).isEqualTo("sha1");
+		assertThat(this.registry.resolveRef("https://github.com/org/repo", null, resolver)).isEqualTo("sha2");
+		assertThat(this.registry.resolveRef("https://github.com/org/other", "main", resolver)).isEqualTo("sha3");
+	}
+
+	@Test
+	void unresolvedRefIsNotRemembered() {
+		AtomicInteger resolved = new AtomicInteger();
+		GitClientRegistry.RefResolver<RuntimeException> resolver = () -> (resolved.incrementAndGet() == 1) ? null
+				: "sha";
+		assertThat(this.registry.resolveRef("https://github.com/org/repo", null, resolver)).isNull();
+		assertThat(this.registry.resolveRef("https://github.com/org/repo", null, resolver)).isEqualTo("sha");
+	}
+
+	@Test
+	void uncachedRegistryAlwaysResolvesRefs() {
+		GitClientRegistry uncached = GitClientRegistry.uncached(this.userConfig);
+		AtomicInteger resolved = new AtomicInteger();
+		GitClientRegistry.RefResolver<RuntimeException> resolver = () -> "sha" + resolved.incrementAndGet();
+		assertThat(uncached.resolveRef("https://github.com/org/repo", "main", resolver)).isEqualTo("sha1");
+		assertThat(uncached.resolveRef("https://github.com/org/repo", "main", resolver)).isEqualTo("sha2");
+	}
+
+}
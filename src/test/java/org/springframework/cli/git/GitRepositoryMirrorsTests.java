@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.git;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import com.google.common.jimfs.Jimfs;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.SpringCliException;
+import org.springframework.cli.config.SpringCliUserConfig;
+import org.springframework.util.FileSystemUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class GitRepositoryMirrorsTests {
+
+	@TempDir
+	Path tempDir;
+
+	private Git source;
+
+	private GitRepositoryMirrors mirrors;
+
+	@BeforeEach
+	void setup() throws GitAPIException {
+		this.source = Git.init().setDirectory(this.tempDir.resolve("source").toFile()).call();
+		FileSystem fileSystem = Jimfs.newFileSystem();
+		GitClientRegistry registry = GitClientRegistry
+			.uncached(new SpringCliUserConfig((path) -> fileSystem.getPath(path)));
+		this.mirrors = new GitRepositoryMirrors(registry, this.tempDir.resolve("mirrors"), 1024 * 1024 * 1024);
+	}
+
+	@AfterEach
+	void close() {
+		this.source.close();
+	}
+
+	@Test
+	void retrieveSubPathOfTag() throws Exception {
+		write("README.md", "readme");
+		write("app/src/Main.java", "one");
+		commit();
+		this.source.tag().setName("v1").call();
+		write("app/src/Main.java", "two");
+		commit();
+
+		Path target = this.mirrors.retrieve(url() + "?ref=v1&subPath=app", this.tempDir.resolve("target"));
+		assertThat(target.resolve("src/Main.java")).hasContent("one");
+		assertThat(target.resolve("README.md")).doesNotExist();
+	}
+
+	@Test
+	void retrieveFetchesNewCommits() throws Exception {
+		write("README.md", "one");
+		commit();
+		assertThat(this.mirrors.retrieve(url(), this.tempDir.resolve("first")).resolve("README.md")).hasContent("one");
+
+		write("README.md", "two");
+		commit();
+		assertThat(this.mirrors.retrieve(url(), this.tempDir.resolve("second")).resolve("README.md"))
+			.hasContent("two");
+		assertThat(this.tempDir.resolve("mirrors")).isNotEmptyDirectory();
+	}
+
+	@Test
+	void retrieveUsesMirrorWhenRemoteIsUnreachable() throws Exception {
+		write("README.md", "one");
+		commit();
+		this.mirrors.retrieve(url(), this.tempDir.resolve("first"));
+
+		this.source.close();
+		FileSystemUtils.deleteRecursively(this.tempDir.resolve("source"));
+		assertThat(this.mirrors.retrieve(url(), this.tempDir.resolve("second")).resolve("README.md"))
+			.hasContent("one");
+	}
+
+	@Test
+	void leastRecentlyUsedMirrorsAreEvicted() throws Exception {
+		write("README.md", "one");
+		commit();
+		Path otherDir = this.tempDir.resolve("other");
+		try (Git other = Git.init().setDirectory(otherDir.toFile()).call()) {
+			Files.writeString(otherDir.resolve("README.md"), "other");
+			other.add().addFilepattern(".").call();
+			other.commit().setMessage("update").setAuthor("test", "test@example.com").setSign(false).call();
+		}
+		GitRepositoryMirrors bounded = new GitRepositoryMirrors(
+				GitClientRegistry.uncached(new SpringCliUserConfig((path) -> Jimfs.newFileSystem().getPath(path))),
+				this.tempDir.resolve("bounded"), 1);
+		bounded.retrieve(url(), this.tempDir.resolve("first"));
+		assertThat(mirrorCount()).isEqualTo(1);
+		assertThat(bounded.retrieve("git+file:" + otherDir.resolve(".git"), this.tempDir.resolve("second"))
+			.resolve("README.md")).hasContent("other");
+		assertThat(mirrorCount()).isEqualTo(1);
+		assertThat(bounded.retrieve(url(), this.tempDir.resolve("third")).resolve("README.md")).hasContent("one");
+		assertThat(mirrorCount()).isEqualTo(1);
+	}
+
+	@Test
+	void retrieveFile() throws Exception {
+		write("catalog/project-catalog.yml", "projects");
+		commit();
+		assertThat(this.mirrors.retrieveFile(url() + "?subPath=catalog", "project-catalog.yml")).isEqualTo("projects");
+		assertThatExceptionOfType(SpringCliException.class)
+			.isThrownBy(() -> this.mirrors.retrieveFile(url(), "missing.yml"));
+	}
+
+	@Test
+	void unknownRef() throws Exception {
+		write("README.md", "one");
+		commit();
+		assertThatExceptionOfType(SpringCliException.class)
+			.isThrownBy(() -> this.mirrors.retrieve(url() + "?ref=missing", this.tempDir.resolve("target")))
+			.withMessageContaining("Not able to find ref missing");
+	}
+
+	@Test
+	void gitUrls() throws Exception {
+		Path bare = this.tempDir.resolve("bare.git");
+		Git.init().setBare(true).setDirectory(bare.toFile()).call().close();
+		assertThat(GitRepositoryMirrors.isGitUrl(bare.toUri().toString())).isTrue();
+		assertThat(GitRepositoryMirrors.isGitUrl(this.tempDir.toUri().toString())).isFalse();
+		assertThat(GitRepositoryMirrors.isGitUrl("git+https://git.example.com/templates/web.git")).isTrue();
+		assertThat(GitRepositoryMirrors.isGitUrl("https://github.com/rd-1-2022/rest-service")).isFalse();
+		assertThat(GitRepositoryMirrors.getRepositoryName("git+https://git.example.com/templates/web.git?ref=main"))
+			.isEqualTo("web");
+	}
+
+	private String url() {
+		return "git+file:" + this.tempDir.resolve("source").resolve(".git");
+	}
+
+	private long mirrorCount() throws IOException {
+		try (Stream<Path> mirrors = Files.list(this.tempDir.resolve("bounded"))) {
+			return mirrors.filter((path) -> path.getFileName().toString().endsWith(".git")).count();
+		}
+	}
+
+	private void write(String name, String content) throws IOException {
+		Path path = this.tempDir.resolve("source").resolve(name);
+		Files.createDirectories(path.getParent());
+		Files.writeString(path, content);
+	}
+
+	private void commit() throws GitAPIException {
+		this.source.add().addFilepattern(".").call();
+		this.source.commit().setMessage("update").setAuthor("test", "test@example.com").setSign(false).call();
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.git;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.git.RepositoryContentsCache.Key;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RepositoryContentsCacheTests {
+
+	@Test
+	void keyIsNormalized() {
+		Key key1 = new Key("https://github.com/rd-1-2022/rest-service", "abc", null);
+		Key key2 = new Key("https://GitHub.com/rd-1-2022/rest-service.git", "abc", "");
+		Key key3 = new Key("https://github.com/rd-1-2022/rest-service", "abc", "sub");
+		assertThat(key1.id()).isEqualTo(key2.id());
+		assertThat(key1.id()).isNotEqualTo(key3.id());
+	}
+
+	@Test
+	void missThenHit(@TempDir Path tempDir) throws IOException {
+		RepositoryContentsCache cache = new RepositoryContentsCache(tempDir.resolve("cache"), 1024 * 1024);
+		Key key = new Key("https://github.com/rd-1-2022/rest-service", "abc", null);
+		Path target1 = Files.createDirectories(tempDir.resolve("target1"));
+		assertThat(cache.copyTo(key, target1)).isFalse();
+
+		Path contents = createContents(tempDir.resolve("contents"), 10);
+		cache.put(key, contents);
+
+		Path target2 = Files.createDirectories(tempDir.resolve("target2"));
+		assertThat(cache.copyTo(key, target2)).isTrue();
+		assertThat(target2.resolve("src").resolve("file.txt")).hasContent("x".repeat(10));
+	}
+
+	@Test
+	void disabledNeverHits(@TempDir Path tempDir) throws IOException {
+		RepositoryContentsCache cache = RepositoryContentsCache.disabled();
+		Key key = new Key("https://github.com/rd-1-2022/rest-service", "abc", null);
+		cache.put(key, createContents(tempDir.resolve("contents"), 10));
+		assertThat(cache.isEnabled()).isFalse();
+		assertThat(cache.copyTo(key, tempDir)).isFalse();
+	}
+
+	@Test
+	void leastRecentlyUsedIsEvicted(@TempDir Path tempDir) throws IOException {
+		Path cacheDir = tempDir.resolve("cache");
+		RepositoryContentsCache cache = new RepositoryContentsCache(cacheDir, 250);
+		Key key1 = new Key("https://github.com/rd-1-2022/repo1", "abc", null);
+		Key key2 = new Key("https://github.com/rd-1-2022/repo2", "abc", null);
+		Key key3 = new Key("https://github.com/rd-1-2022/repo3", "abc", null);
+
+		cache.put(key1, createContents(tempDir.resolve("contents1"), 100));
+		cache.put(key2, createContents(tempDir.resolve("contents2"), 100));
+		Files.setLastModifiedTime(cacheDir.resolve(key1.id()).resolve("entry.properties"), FileTime.fromMillis(1000));
+		Files.setLastModifiedTime(cacheDir.resolve(key2.id()).resolve("entry.properties"), FileTime.fromMillis(2000));
+		cache.put(key3, createContents(tempDir.resolve("contents3"), 100));
+
+		assertThat(cacheDir.resolve(key1.id())).doesNotExist();
+		assertThat(cacheDir.resolve(key2.id())).exists();
+		assertThat(cacheDir.resolve(key3.id())).exists();
+	}
+
+	private static Path createContents(Path dir, int size) throws IOException {
+		Path file = dir.resolve("src").resolve("file.txt");
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, "x".repeat(size));
+		return dir;
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.git;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.SpringCliException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TarGzExtractorTests {
+
+	@Test
+	void topLevelDirectoryIsStripped(@TempDir Path tempDir) throws IOException {
+		byte[] archive = archive("repo-abc/", "repo-abc/README.md", "repo-abc/src/Main.java");
+		TarGzExtractor.extract(new ByteArrayInputStream(archive), tempDir, null);
+		assertThat(tempDir.resolve("README.md")).hasContent("repo-abc/README.md");
+		assertThat(tempDir.resolve("src").resolve("Main.java")).hasContent("repo-abc/src/Main.java");
+		assertThat(tempDir.resolve("repo-abc")).doesNotExist();
+	}
+
+	@Test
+	void onlySubPathIsExtracted(@TempDir Path tempDir) throws IOException {
+		byte[] archive = archive("repo-abc/", "repo-abc/README.md", "repo-abc/sub/", "repo-abc/sub/pom.xml",
+				"repo-abc/subother/file.txt");
+		TarGzExtractor.Stats stats = TarGzExtractor.extract(new ByteArrayInputStream(archive), tempDir, "sub");
+		assertThat(tempDir.resolve("pom.xml")).hasContent("repo-abc/sub/pom.xml");
+		assertThat(stats.entriesWritten()).isEqualTo(1);
+		assertThat(stats.bytesWritten()).isEqualTo("repo-abc/sub/pom.xml".length());
+		assertThat(stats.entriesSkipped()).isEqualTo(2);
+		assertThat(stats.bytesSkipped())
+			.isEqualTo("repo-abc/README.md".length() + "repo-abc/subother/file.txt".length());
+		assertThat(tempDir.resolve("README.md")).doesNotExist();
+		assertThat(tempDir.resolve("file.txt")).doesNotExist();
+	}
+
+	@Test
+	void missingSubPathFails(@TempDir Path tempDir) throws IOException {
+		byte[] archive = archive("repo-abc/", "repo-abc/README.md");
+		assertThatThrownBy(() -> TarGzExtractor.extract(new ByteArrayInputStream(archive), tempDir, "missing"))
+			.isInstanceOf(SpringCliException.class);
+	}
+
+	@Test
+	void entriesOutsideOfTargetAreRejected(@TempDir Path tempDir) throws IOException {
+		byte[] archive = archive("repo-abc/../../evil.txt");
+		assertThatThrownBy(() -> TarGzExtractor.extract(new ByteArrayInputStream(archive), tempDir, null))
+			.isInstanceOf(SpringCliException.class);
+		assertThat(Files.exists(tempDir.getParent().resolve("evil.txt"))).isFalse();
+	}
+
+	private static byte[] archive(String... names) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(out))) {
+			for (String name : names) {
+				TarArchiveEntry entry = new TarArchiveEntry(name);
+				if (name.endsWith("/")) {
+					tar.putArchiveEntry(entry);
+				}
+				else {
+					byte[] content = name.getBytes(StandardCharsets.UTF_8);
+					entry.setSize(content.length);
+					tar.putArchiveEntry(entry);
+					tar.write(content);
+				}
+				tar.closeArchiveEntry();
+			}
+		}
+		return out.toByteArray();
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.initializr;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.initializr.InitializrMetadataCache.Entry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InitializrMetadataCacheTests {
+
+	private static final String BASE_URL = "https://start.spring.io";
+
+	@Test
+	void storedEntryIsLoaded(@TempDir Path tempDir) {
+		InitializrMetadataCache cache = new InitializrMetadataCache(tempDir, Duration.ofHours(1));
+		assertThat(cache.load(BASE_URL)).isNull();
+		Instant fetched = Instant.ofEpochMilli(System.currentTimeMillis());
+		cache.store(BASE_URL, new Entry("{}", "\"etag\"", fetched));
+
+		Entry entry = cache.load(BASE_URL + "/");
+		assertThat(entry).isEqualTo(new Entry("{}", "\"etag\"", fetched));
+		assertThat(cache.isFresh(entry)).isTrue();
+		assertThat(new InitializrMetadataCache(tempDir, Duration.ofHours(1)).load("https://example.com")).isNull();
+	}
+
+	@Test
+	void expiredEntryIsNotFresh(@TempDir Path tempDir) {
+		InitializrMetadataCache cache = new InitializrMetadataCache(tempDir, Duration.ofHours(1));
+		cache.store(BASE_URL, new Entry("{}", null, Instant.now().minus(Duration.ofHours(2))));
+
+		Entry entry = cache.load(BASE_URL);
+		assertThat(entry.etag()).isNull();
+		assertThat(cache.isFresh(entry)).isFalse();
+		assertThat(cache.isFresh(entry.revalidated())).isTrue();
+	}
+
+	@Test
+	void disabledCacheStoresNothing() {
+		InitializrMetadataCache cache = InitializrMetadataCache.disabled();
+		cache.store(BASE_URL, new Entry("{}", null, Instant.now()));
+		assertThat(cache.load(BASE_URL)).isNull();
+	}
+
+}
@@ -56,8 +56,6 @@ public class MavenModificationTests {
 
 	@Test
 	void addPluginDependency(@TempDir Path tempDir) throws Exception {
-		MavenParser mavenParser = MavenParser.builder().build();
-
 		Path mergedPomPath = tempDir.resolve("temp-existing-pom.xml");
 		Path pomExisting = Paths.get("src/test/resources/pom-existing-project.xml");
 
@@ -68,14 +66,17 @@ public class MavenModificationTests {
 		Path pomToMerge = Paths.get("src/test/resources/pom-project-to-add.xml");
 
 		ProjectMerger merger = new ProjectMerger(tempDir.resolve("to"), tempDir.resolve("from"), "foo-project", null);
-		Method mergeMavenPlugins = ReflectionUtils.findMethod(ProjectMerger.class, "mergeMavenPlugins", Path.class,
-				Model.class, Model.class, List.class, MavenParser.class);
+		Method mergeMavenPlugins = ReflectionUtils.findMethod(ProjectMerger.class, "mergeMavenPlugins", Model.class,
+				Model.class, ProjectMerger.ParsedPom.class);
 		mergeMavenPlugins.setAccessible(true);
 
-		List<Path> paths = new ArrayList<>();
-		paths.add(mergedPomPath);
-		mergeMavenPlugins.invoke(merger, mergedPomPath, pomReader.readPom(pomExisting.toFile()),
-				pomReader.readPom(pomToMerge.toFile()), paths, mavenParser);
+		// pom is parsed once, every plugin and plugin dependency is a recipe run on
+		// the in memory tree and result is written once
+		ProjectMerger.ParsedPom pom = ProjectMerger.ParsedPom.parse(mergedPomPath, tempDir);
+		Model toMergeModel = pomReader.readPom(pomToMerge.toFile());
+		mergeMavenPlugins.invoke(merger, pomReader.readPom(pomExisting.toFile()), toMergeModel, pom);
+		pom.write();
+		assertThat(pom.getRecipeRuns()).isGreaterThanOrEqualTo(toMergeModel.getBuild().getPlugins().size());
 
 		Model mergedModel = pomReader.readPom(mergedPomPath.toFile());
 		for (Plugin plugin : mergedModel.getBuild().getPlugins()) {
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.recipe;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SourceParsersTests {
+
+	private final SourceParsers sourceParsers = new SourceParsers(null);
+
+	@Test
+	void unchangedFilesAreNotParsedAgain(@TempDir Path tempDir) throws IOException {
+		Path file = Files.writeString(tempDir.resolve("Foo.java"), "package com.example;\nclass Foo {}\n");
+		ExecutionContext executionContext = this.sourceParsers.createExecutionContext();
+		List<SourceFile> first = this.sourceParsers.parseJava(List.of(file), tempDir, executionContext);
+		List<SourceFile> second = this.sourceParsers.parseJava(List.of(file), tempDir, executionContext);
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test
+	void changedFilesAreParsedAgain(@TempDir Path tempDir) throws IOException {
+		Path file = Files.writeString(tempDir.resolve("Foo.java"), "package com.example;\nclass Foo {}\n");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+		ExecutionContext executionContext = this.sourceParsers.createExecutionContext();
+		List<SourceFile> first = this.sourceParsers.parseJava(List.of(file), tempDir, executionContext);
+
+		Files.writeString(file, "package com.example;\nclass Bar {}\n");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(2000));
+		List<SourceFile> second = this.sourceParsers.parseJava(List.of(file), tempDir, executionContext);
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.get(0).printAll()).contains("class Bar");
+	}
+
+	@Test
+	void temporaryFilesAreNotCached(@TempDir Path tempDir) throws IOException {
+		Path file = Files.writeString(tempDir.resolve("Foo.java"), "package com.example;\nclass Foo {}\n");
+		SourceParsers sourceParsers = new SourceParsers(tempDir);
+		ExecutionContext executionContext = sourceParsers.createExecutionContext();
+		List<SourceFile> first = sourceParsers.parseJava(List.of(file), tempDir, executionContext);
+		List<SourceFile> second = sourceParsers.parseJava(List.of(file), tempDir, executionContext);
+		assertThat(second).isNotSameAs(first);
+	}
+
+}
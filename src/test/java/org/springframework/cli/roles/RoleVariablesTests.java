@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.roles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RoleVariablesTests {
+
+	@Test
+	void updatesAreVisibleBeforeFlush(@TempDir Path tempDir) throws IOException {
+		Files.writeString(tempDir.resolve("pom.xml"), "<project/>");
+		RoleService roleService = new RoleService(tempDir);
+		roleService.updateRole("", "name", "John");
+
+		RoleVariables roleVariables = new RoleVariables(roleService, "");
+		assertThat(roleVariables.isDefined("name")).isTrue();
+		roleVariables.put("age", "30");
+		roleVariables.put("person", "true");
+
+		assertThat(roleVariables.getVariables()).containsEntry("name", "John")
+			.containsEntry("age", 30)
+			.containsEntry("person", true);
+		assertThat(roleService.loadAsMap("")).doesNotContainKey("age");
+
+		roleVariables.flush();
+		assertThat(roleService.loadAsMap("")).containsEntry("name", "John")
+			.containsEntry("age", 30)
+			.containsEntry("person", true);
+	}
+
+	@Test
+	void flushedVariablesMatchSnapshot(@TempDir Path tempDir) throws IOException {
+		Files.writeString(tempDir.resolve("pom.xml"), "<project/>");
+		RoleService roleService = new RoleService(tempDir);
+		RoleVariables roleVariables = new RoleVariables(roleService, "");
+		roleVariables.put("map", "foo: bar");
+		roleVariables.put("quoted-boolean", "'true'");
+		roleVariables.put("quoted-number", "'42'");
+		roleVariables.put("number", "42");
+
+		assertThat(roleVariables.getVariables()).containsEntry("map", Map.of("foo", "bar"))
+			.containsEntry("quoted-boolean", "true")
+			.containsEntry("quoted-number", "42")
+			.containsEntry("number", 42);
+		roleVariables.flush();
+		assertThat(roleService.loadAsMap("")).isEqualTo(roleVariables.getVariables());
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.command;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Optional;
+
+import org.jline.terminal.Terminal;
+import org.jline.terminal.impl.DumbTerminal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.util.StubTerminalMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DynamicCommandTests {
+
+	private static final String PARALLEL_ACTIONS = """
+			parallel: true
+			actions:
+			  - generate:
+			      to: first.txt
+			      text: |
+			        first
+			        // marker
+			  - generate:
+			      to: second.txt
+			      text: second
+			  - inject:
+			      to: first.txt
+			      after: "// marker"
+			      text: injected
+			  - vars:
+			      data:
+			        greeting: hello
+			  - generate:
+			      to: third.txt
+			      text: "{{greeting}}"
+			""";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void parallelActions() throws IOException {
+		Path commandDir = Files.createDirectories(this.tempDir.resolve(".spring/commands/parallel/run"));
+		Files.writeString(commandDir.resolve("actions.yml"), PARALLEL_ACTIONS);
+		StubTerminalMessage terminalMessage = new StubTerminalMessage();
+		try (Terminal terminal = new DumbTerminal(InputStream.nullInputStream(), OutputStream.nullOutputStream())) {
+			DynamicCommand dynamicCommand = new DynamicCommand("parallel", "run", Collections.emptyList(),
+					terminalMessage, Optional.of(terminal));
+			dynamicCommand.runCommand(this.tempDir, ".spring", "commands", new HashMap<>());
+		}
+
+		// injection waited for the file to be generated
+		assertThat(this.tempDir.resolve("first.txt")).content().contains("// marker\ninjected");
+		assertThat(this.tempDir.resolve("second.txt")).hasContent("second");
+		// vars completed before later actions were scheduled
+		assertThat(this.tempDir.resolve("third.txt")).hasContent("hello");
+		// output is printed in declaration order
+		assertThat(terminalMessage.getPrintMessages()).containsExactly(
+				"Generated " + this.tempDir.resolve("first.txt").toAbsolutePath(),
+				"Generated " + this.tempDir.resolve("second.txt").toAbsolutePath(),
+				"Injected into " + this.tempDir.resolve("first.txt").toAbsolutePath(),
+				"Generated " + this.tempDir.resolve("third.txt").toAbsolutePath());
+	}
+
+}
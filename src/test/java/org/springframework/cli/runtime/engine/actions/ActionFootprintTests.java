@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.actions;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cli.runtime.engine.templating.HandlebarsTemplateEngine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ActionFootprintTests {
+
+	private final HandlebarsTemplateEngine templateEngine = new HandlebarsTemplateEngine();
+
+	private final Map<String, Object> model = Map.of("name", "Foo");
+
+	private final Path cwd = Path.of("/work");
+
+	@Test
+	void generatesOfDifferentFilesAreIndependent() {
+		ActionFootprint first = footprint(generate("src/{{name}}.java"));
+		ActionFootprint second = footprint(generate("src/Bar.java"));
+		assertThat(second.dependsOn(first)).isFalse();
+	}
+
+	@Test
+	void generatesOfSameFileAreOrdered() {
+		ActionFootprint first = footprint(generate("src/{{name}}.java"));
+		ActionFootprint second = footprint(generate("src/Foo.java"));
+		assertThat(second.dependsOn(first)).isTrue();
+	}
+
+	@Test
+	void injectWaitsForGenerateOfSameFile() {
+		ActionFootprint first = footprint(generate("README.md"));
+		ActionFootprint second = footprint(action(null, new Inject("text", "README.md", null, null, null), null, null));
+		assertThat(second.dependsOn(first)).isTrue();
+	}
+
+	@Test
+	void execsRunTogetherButWaitForFileWrites() {
+		ActionFootprint generate = footprint(generate("src/Foo.java"));
+		ActionFootprint firstExec = footprint(action(null, null, new Exec(null, "ls", null, null, null, null), null));
+		ActionFootprint secondExec = footprint(action(null, null, new Exec(null, "pwd", null, null, null, null), null));
+		assertThat(firstExec.dependsOn(generate)).isTrue();
+		assertThat(secondExec.dependsOn(firstExec)).isFalse();
+	}
+
+	@Test
+	void varsIsBarrier() {
+		ActionFootprint generate = footprint(generate("src/Foo.java"));
+		ActionFootprint vars = footprint(action(null, null, null, new Vars(null, Map.of("key", "value"))));
+		assertThat(vars.dependsOn(generate)).isTrue();
+		assertThat(generate.dependsOn(vars)).isTrue();
+	}
+
+	private ActionFootprint footprint(Action action) {
+		return ActionFootprint.of(action, this.templateEngine, this.model, this.cwd);
+	}
+
+	private static Action generate(String to) {
+		return action(new Generate(to, "text", null, true), null, null, null);
+	}
+
+	private static Action action(Generate generate, Inject inject, Exec exec, Vars vars) {
+		return new Action(null, generate, exec, vars, null, null, null, null, null, inject);
+	}
+
+}
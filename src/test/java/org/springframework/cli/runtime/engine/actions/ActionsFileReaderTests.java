@@ -16,9 +16,14 @@
 
 package org.springframework.cli.runtime.engine.actions;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.cli.testutil.TestResourceUtils;
 import org.springframework.core.io.ClassPathResource;
@@ -93,6 +98,22 @@ class ActionsFileReaderTests {
 			.contains("spring-boot-starter-test");
 	}
 
+	@Test
+	void readFromPathIsCachedUntilChanged(@TempDir Path tempDir) throws IOException {
+		Path path = tempDir.resolve("actions.yaml");
+		Files.writeString(path, "actions:\n  - exec:\n      command: echo one\n");
+		Files.setLastModifiedTime(path, FileTime.fromMillis(1000));
+		ActionFileReader actionFileReader = new ActionFileReader();
+		ActionsFile first = actionFileReader.read(path).get();
+		assertThat(actionFileReader.read(path)).containsSame(first);
+
+		Files.writeString(path, "actions:\n  - exec:\n      command: echo two\n");
+		Files.setLastModifiedTime(path, FileTime.fromMillis(2000));
+		ActionsFile second = actionFileReader.read(path).get();
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getActions().get(0).getExec().getCommand()).isEqualTo("echo two");
+	}
+
 	// public static String asString(Resource resource) {
 	// try (Reader reader = new InputStreamReader(resource.getInputStream(), UTF_8)) {
 	// return FileCopyUtils.copyToString(reader);
@@ -19,6 +19,8 @@ package org.springframework.cli.runtime.engine.actions.handlers;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Disabled;
@@ -29,11 +31,16 @@ import org.junit.jupiter.api.io.CleanupMode;
 import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cli.SpringCliException;
+import org.springframework.cli.runtime.engine.actions.Exec;
+import org.springframework.cli.runtime.engine.templating.HandlebarsTemplateEngine;
 import org.springframework.cli.support.CommandRunner;
 import org.springframework.cli.support.MockConfigurations.MockBaseConfig;
 import org.springframework.cli.support.MockConfigurations.MockUserConfig;
+import org.springframework.cli.util.TerminalMessage;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class ExecHandlerTests {
 
@@ -126,4 +133,42 @@ public class ExecHandlerTests {
 		});
 	}
 
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void largeStderrDoesNotBlock() {
+		ExecActionHandler execActionHandler = new ExecActionHandler(new HandlebarsTemplateEngine(), new HashMap<>(),
+				Path.of("."), TerminalMessage.noop());
+		Exec exec = new Exec(null, "head -c 200000 /dev/zero | tr '\\0' 'e' >&2; echo done", null, null, null, null,
+				"30s");
+		Map<String, Object> outputs = new HashMap<>();
+		execActionHandler.executeShellCommand(exec, outputs);
+		assertThat(outputs).containsEntry(ExecActionHandler.OUTPUT_EXIT_VALUE, 0)
+			.containsEntry(ExecActionHandler.OUTPUT_STDOUT, "done");
+		assertThat(outputs.get(ExecActionHandler.OUTPUT_STDERR).toString()).hasSize(200000);
+	}
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void outputHeldOpenByChildIsNotUsed() {
+		ExecActionHandler execActionHandler = new ExecActionHandler(new HandlebarsTemplateEngine(), new HashMap<>(),
+				Path.of("."), TerminalMessage.noop());
+		// the background process keeps stdout open after the command exits
+		Exec exec = new Exec(null, "echo partial; sleep 10 &", null, null, null, null, "30s");
+		Map<String, Object> outputs = new HashMap<>();
+		execActionHandler.executeShellCommand(exec, outputs);
+		assertThat(outputs).containsEntry(ExecActionHandler.OUTPUT_EXIT_VALUE, 0)
+			.doesNotContainKey(ExecActionHandler.OUTPUT_STDOUT);
+	}
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void commandIsTerminatedOnTimeout() {
+		ExecActionHandler execActionHandler = new ExecActionHandler(new HandlebarsTemplateEngine(), new HashMap<>(),
+				Path.of("."), TerminalMessage.noop());
+		Exec exec = new Exec(null, "sleep 30", null, null, null, null, "1");
+		assertThatThrownBy(() -> execActionHandler.executeShellCommand(exec, new HashMap<>()))
+			.isInstanceOf(SpringCliException.class)
+			.hasMessageContaining("did not complete within 1 seconds");
+	}
+
 }
@@ -17,7 +17,14 @@
 package org.springframework.cli.runtime.engine.actions.handlers;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
@@ -26,9 +33,11 @@ import org.junit.jupiter.api.io.CleanupMode;
 import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cli.runtime.command.DynamicCommand;
 import org.springframework.cli.support.CommandRunner;
 import org.springframework.cli.support.MockConfigurations.MockBaseConfig;
 import org.springframework.cli.support.MockConfigurations.MockUserConfig;
+import org.springframework.cli.util.StubTerminalMessage;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -58,6 +67,31 @@ public class GenerateHandlerTests {
 
 	}
 
+	@Test
+	void generateSkipsUnchangedFile(@TempDir Path workingDir) throws IOException {
+		Path commandDir = Files.createDirectories(workingDir.resolve(".spring/commands/hello/new"));
+		Files.writeString(commandDir.resolve("hello.yml"), """
+				actions:
+				  - generate:
+				      to: hello.txt
+				      overwrite: true
+				      text: Hello World
+				""");
+		StubTerminalMessage terminalMessage = new StubTerminalMessage();
+		DynamicCommand dynamicCommand = new DynamicCommand("hello", "new", Collections.emptyList(), terminalMessage,
+				Optional.empty());
+		dynamicCommand.runCommand(workingDir, ".spring", "commands", new HashMap<>());
+		Path helloPath = workingDir.resolve("hello.txt");
+		assertThat(helloPath).hasContent("Hello World");
+		FileTime lastModified = FileTime.fromMillis(1000);
+		Files.setLastModifiedTime(helloPath, lastModified);
+
+		dynamicCommand.runCommand(workingDir, ".spring", "commands", new HashMap<>());
+		assertThat(Files.getLastModifiedTime(helloPath)).isEqualTo(lastModified);
+		List<String> output = terminalMessage.getPrintMessages();
+		assertThat(output.get(output.size() - 1)).endsWith("File content is unchanged.");
+	}
+
 	@Test
 	@DisabledOnOs(OS.WINDOWS)
 	void generateFromFile(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir) {
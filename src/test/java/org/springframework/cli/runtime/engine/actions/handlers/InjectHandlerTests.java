@@ -90,6 +90,62 @@ public class InjectHandlerTests {
 		});
 	}
 
+	@Test
+	void injectMultiple(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir) {
+		this.contextRunner.withUserConfiguration(MockUserConfig.class).run((context) -> {
+
+			Path sampleFile = Path.of("test-data")
+				.resolve("commands")
+				.resolve("inject")
+				.resolve("multiple")
+				.resolve("inject")
+				.resolve("sample.txt");
+			Path destinationPath = workingDir.resolve("sample.txt");
+
+			Files.copy(sampleFile, destinationPath);
+			CommandRunner commandRunner = new CommandRunner.Builder(context).prepareProject("rest-service", workingDir)
+				.installCommandGroup("inject")
+				.executeCommand("multiple/inject")
+				.build();
+			commandRunner.run();
+
+			assertThat(destinationPath).exists();
+			String expectedContents = "hello there\n" + "this is a test file\n" + "INJECTED BEFORE\n"
+					+ "INJECTED BEFORE INJECTED\n"
+					+ "we are going to insert before the line that has the word marker1\n" + "marker2\n"
+					+ "INJECTED AFTER";
+			assertThat(destinationPath.toFile()).hasContent(expectedContents);
+
+		});
+	}
+
+	@Test
+	void injectIntoMultilineInjection(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir) {
+		this.contextRunner.withUserConfiguration(MockUserConfig.class).run((context) -> {
+
+			Path sampleFile = Path.of("test-data")
+				.resolve("commands")
+				.resolve("inject")
+				.resolve("multiline")
+				.resolve("inject")
+				.resolve("sample.txt");
+			Path destinationPath = workingDir.resolve("sample.txt");
+
+			Files.copy(sampleFile, destinationPath);
+			CommandRunner commandRunner = new CommandRunner.Builder(context).prepareProject("rest-service", workingDir)
+				.installCommandGroup("inject")
+				.executeCommand("multiline/inject")
+				.build();
+			commandRunner.run();
+
+			assertThat(destinationPath).exists();
+			String expectedContents = "hello there\n" + "marker1\n" + "FIRST LINE\n" + "BETWEEN LINES\n"
+					+ "SECOND LINE\n" + "marker2";
+			assertThat(destinationPath.toFile()).hasContent(expectedContents);
+
+		});
+	}
+
 	@Test
 	void injectSkip(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir) {
 		this.contextRunner.withUserConfiguration(MockUserConfig.class).run((context) -> {
@@ -67,6 +67,22 @@ class InjectMavenDependencyActionHandlerTests {
 		});
 	}
 
+	@Test
+	void injectMavenDependenciesFromSeparateActions(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir) {
+		this.contextRunner.withUserConfiguration(MockUserConfig.class).run((context) -> {
+
+			CommandRunner commandRunner = new CommandRunner.Builder(context).prepareProject("rest-service", workingDir)
+				.installCommandGroup("inject-maven")
+				.executeCommand("dependency/add-separately")
+				.build();
+			commandRunner.run();
+
+			Path pomPath = workingDir.resolve("pom.xml");
+			verifyMavenArtifactId(pomPath);
+			assertThat(workingDir).isDirectoryNotContaining("glob:**/*.tmp");
+		});
+	}
+
 	private static void verifyMavenArtifactId(Path pomPath) {
 		assertThat(pomPath).content().contains("spring-boot-starter-data-jpa");
 		assertThat(pomPath).content().contains("spring-boot-starter-test");
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cli.runtime.engine.spel.SpELCondition;
+import org.springframework.cli.runtime.engine.templating.HandlebarsTemplateEngine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyModelTests {
+
+	@Test
+	void valuesAreComputedOnceWhenUsed() {
+		AtomicInteger calls = new AtomicInteger();
+		LazyModel model = new LazyModel();
+		LazyModel.putLazy(model, "expensive", () -> "value-" + calls.incrementAndGet());
+		LazyModel copy = new LazyModel(model);
+		new HashMap<>(model).values().forEach(value -> assertThat(value).isNotNull());
+		assertThat(calls).hasValue(0);
+		assertThat(model.getMaterialized()).isEmpty();
+
+		assertThat(copy.get("expensive")).isEqualTo("value-1");
+		assertThat(model.get("expensive")).isEqualTo("value-1");
+		assertThat(calls).hasValue(1);
+		assertThat(model.getMaterialized()).containsOnlyKeys("expensive");
+	}
+
+	@Test
+	void valuesAreResolvedByTemplatesAndConditions() {
+		LazyModel model = new LazyModel();
+		LazyModel.putLazy(model, "project", () -> Map.of("name", "demo"));
+		LazyModel.putLazy(model, "unused", () -> {
+			throw new IllegalStateException();
+		});
+		assertThat(new HandlebarsTemplateEngine().process("{{project.name}}", model)).isEqualTo("demo");
+		assertThat(new SpELCondition("#{ ['project']['name'] == 'demo' }").evaluate(model)).isTrue();
+		assertThat(model.getMaterialized()).containsOnlyKeys("project");
+	}
+
+	@Test
+	void valuesAreComputedRightAwayForOtherMaps() {
+		Map<String, Object> model = new HashMap<>();
+		LazyModel.putLazy(model, "key", () -> "value");
+		assertThat(model).containsEntry("key", "value");
+	}
+
+}
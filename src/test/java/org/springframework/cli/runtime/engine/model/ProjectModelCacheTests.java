@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectModelCacheTests {
+
+	@Test
+	void valuesAreComputedAgainWhenSourcesChange(@TempDir Path tempDir) throws IOException {
+		Files.createDirectories(tempDir.resolve(".spring"));
+		Path source = tempDir.resolve("src/main/java/com/example/Demo.java");
+		Files.createDirectories(source.getParent());
+		Files.writeString(source, "package com.example;");
+		AtomicInteger loads = new AtomicInteger();
+
+		assertThat(ProjectModelCache.get(tempDir, "test", () -> Map.of("count", "" + loads.incrementAndGet())))
+			.containsEntry("count", "1");
+		assertThat(ProjectModelCache.get(tempDir, "test", () -> Map.of("count", "" + loads.incrementAndGet())))
+			.containsEntry("count", "1");
+		assertThat(tempDir.resolve(ProjectModelCache.CACHE_FILE)).exists();
+
+		Files.writeString(tempDir.resolve("src/main/java/com/example/Other.java"), "package com.example;");
+		assertThat(ProjectModelCache.get(tempDir, "test", () -> Map.of("count", "" + loads.incrementAndGet())))
+			.containsEntry("count", "2");
+	}
+
+	@Test
+	void onlyPomAndMainSourcesAreFingerprinted(@TempDir Path tempDir) throws IOException {
+		Files.createDirectories(tempDir.resolve(".spring"));
+		Path source = tempDir.resolve("src/main/java/com/acme/build/Demo.java");
+		Files.createDirectories(source.getParent());
+		Files.writeString(source, "package com.acme.build;");
+		String fingerprint = ProjectModelCache.fingerprint(tempDir);
+
+		Files.createDirectories(tempDir.resolve("src/test/java"));
+		Files.writeString(tempDir.resolve("src/test/java/DemoTests.java"), "class DemoTests {}");
+		Files.writeString(tempDir.resolve("README.md"), "readme");
+		assertThat(ProjectModelCache.fingerprint(tempDir)).isEqualTo(fingerprint);
+
+		Files.writeString(tempDir.resolve("src/main/java/com/acme/build/Other.java"), "package com.acme.build;");
+		assertThat(ProjectModelCache.fingerprint(tempDir)).isNotEqualTo(fingerprint);
+		fingerprint = ProjectModelCache.fingerprint(tempDir);
+
+		Files.writeString(tempDir.resolve("pom.xml"), "<project/>");
+		assertThat(ProjectModelCache.fingerprint(tempDir)).isNotEqualTo(fingerprint);
+	}
+
+	@Test
+	void nothingIsStoredWithoutSpringDirectory(@TempDir Path tempDir) {
+		assertThat(ProjectModelCache.get(tempDir, "test", () -> Map.of("key", "value"))).containsEntry("key", "value");
+		assertThat(tempDir.resolve(".spring")).doesNotExist();
+	}
+
+}
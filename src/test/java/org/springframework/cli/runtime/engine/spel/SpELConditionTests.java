@@ -26,6 +26,7 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 import org.springframework.expression.BeanResolver;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -96,4 +97,15 @@ class SpELConditionTests {
 
 	}
 
+	@Test
+	void reusedEvaluationContextSeesModelChanges() {
+		StandardEvaluationContext context = SpELCondition.createEvaluationContext(null);
+		Map<String, Object> map = new HashMap<>();
+		for (int i = 0; i < 300; i++) {
+			map.put("person", new Person("foo", i % 40));
+			SpELCondition isAdult = new SpELCondition("#{ ['person'].age > 18 }");
+			assertThat(isAdult.evaluate(map, context)).isEqualTo(i % 40 > 18);
+		}
+	}
+
 }
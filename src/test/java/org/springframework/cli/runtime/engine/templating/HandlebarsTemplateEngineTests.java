@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.templating;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HandlebarsTemplateEngineTests {
+
+	@Test
+	void compiledTemplatesAreCached() {
+		HandlebarsTemplateEngine templateEngine = new HandlebarsTemplateEngine();
+		Map<String, Object> model = new HashMap<>();
+		model.put("name", "foo");
+		assertThat(templateEngine.process("hello {{name}}", model)).isEqualTo("hello foo");
+		assertThat(templateEngine.process("hello {{name}}", model)).isEqualTo("hello foo");
+		assertThat(templateEngine.getCacheMisses()).isEqualTo(1);
+		assertThat(templateEngine.getCacheHits()).isEqualTo(1);
+	}
+
+	@Test
+	void modelChangesAreVisible() {
+		HandlebarsTemplateEngine templateEngine = new HandlebarsTemplateEngine();
+		Map<String, Object> model = new HashMap<>();
+		model.put("name", "foo");
+		assertThat(templateEngine.process("hello {{name}}", model)).isEqualTo("hello foo");
+		model.put("name", "bar");
+		assertThat(templateEngine.process("hello {{name}}", model)).isEqualTo("hello bar");
+		assertThat(templateEngine.process("hello {{name}}", Map.of("name", "baz"))).isEqualTo("hello baz");
+	}
+
+	@Test
+	void clearedContextIsCreatedAgain() {
+		HandlebarsTemplateEngine templateEngine = new HandlebarsTemplateEngine();
+		Map<String, Object> model = new HashMap<>();
+		model.put("name", "foo");
+		assertThat(templateEngine.process("hello {{name}}", model)).isEqualTo("hello foo");
+		templateEngine.clearContext();
+		model.put("name", "bar");
+		assertThat(templateEngine.process("hello {{name}}", model)).isEqualTo("hello bar");
+	}
+
+	@Test
+	void emptyTemplate() {
+		HandlebarsTemplateEngine templateEngine = new HandlebarsTemplateEngine();
+		assertThat(templateEngine.process("", null)).isEmpty();
+	}
+
+}
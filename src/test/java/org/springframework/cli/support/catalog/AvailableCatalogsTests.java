@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.support.catalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AvailableCatalogsTests {
+
+	private static final String CATALOGS = "catalog-repositories:\n- name: getting-started\n"
+			+ "  url: https://github.com/rd-1-2022/spring-gs-catalog\n";
+
+	private final StubSourceRepositoryService sourceRepositoryService = new StubSourceRepositoryService(
+			(url, fileName) -> {
+				assertThat(url).isEqualTo(AvailableCatalogs.AVAILABLE_CATALOGS_URL);
+				return CATALOGS;
+			});
+
+	@Test
+	void freshListingIsNotRetrievedAgain(@TempDir Path tempDir) {
+		Path cacheFile = tempDir.resolve("available-catalogs.yml");
+		AvailableCatalogs availableCatalogs = new AvailableCatalogs(this.sourceRepositoryService, cacheFile,
+				Duration.ofHours(1));
+		assertThat(availableCatalogs.getCatalogRepositories()).singleElement()
+			.satisfies((catalog) -> assertThat(catalog.getName()).isEqualTo("getting-started"));
+		assertThat(new AvailableCatalogs(this.sourceRepositoryService, cacheFile, Duration.ofHours(1))
+			.getCatalogRepositories()).hasSize(1);
+		assertThat(this.sourceRepositoryService.getFetches()).isEqualTo(1);
+	}
+
+	@Test
+	void staleListingIsRevalidated(@TempDir Path tempDir) throws IOException {
+		Path cacheFile = tempDir.resolve("available-catalogs.yml");
+		AvailableCatalogs availableCatalogs = new AvailableCatalogs(this.sourceRepositoryService, cacheFile,
+				Duration.ofHours(1));
+		availableCatalogs.getCatalogRepositories();
+		FileTime stale = FileTime.fromMillis(System.currentTimeMillis() - Duration.ofHours(2).toMillis());
+		Files.setLastModifiedTime(cacheFile, stale);
+
+		assertThat(availableCatalogs.getCatalogRepositories()).hasSize(1);
+		assertThat(this.sourceRepositoryService.getFetches()).isEqualTo(2);
+		assertThat(Files.getLastModifiedTime(cacheFile)).isGreaterThan(stale);
+	}
+
+	@Test
+	void storedListingIsUsedWhenOffline(@TempDir Path tempDir) {
+		Path cacheFile = tempDir.resolve("available-catalogs.yml");
+		AvailableCatalogs availableCatalogs = new AvailableCatalogs(this.sourceRepositoryService, cacheFile,
+				Duration.ZERO);
+		availableCatalogs.getCatalogRepositories();
+		this.sourceRepositoryService.setOffline(true);
+		assertThat(availableCatalogs.getCatalogRepositories()).hasSize(1);
+	}
+
+}
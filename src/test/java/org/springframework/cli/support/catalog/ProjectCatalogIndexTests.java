@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.support.catalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
+import org.springframework.cli.support.catalog.ProjectCatalogIndex.CatalogProjects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectCatalogIndexTests {
+
+	private final StubSourceRepositoryService sourceRepositoryService = new StubSourceRepositoryService(
+			(url, fileName) -> {
+				assertThat(fileName).isEqualTo(ProjectCatalogIndex.PROJECT_CATALOG_FILE_NAME);
+				String name = url.substring(url.lastIndexOf('/') + 1);
+				return "project-repositories:\n- name: " + name + "-project\n  url: https://example.com/" + name
+						+ "-project\n";
+			});
+
+	private final List<ProjectCatalog> catalogs = List.of(catalog("first"), catalog("second"), catalog("third"));
+
+	@Test
+	void projectsAreInCatalogOrder(@TempDir Path tempDir) {
+		ProjectCatalogIndex index = new ProjectCatalogIndex(this.sourceRepositoryService, tempDir,
+				Duration.ofHours(1));
+		List<CatalogProjects> projects = index.getProjects(this.catalogs);
+		assertThat(projects).extracting((p) -> p.projectCatalog().getName()).containsExactly("first", "second",
+				"third");
+		assertThat(projects).extracting((p) -> p.projectRepositories().get(0).getName())
+			.containsExactly("first-project", "second-project", "third-project");
+	}
+
+	@Test
+	void freshCatalogsAreNotFetchedAgain(@TempDir Path tempDir) {
+		ProjectCatalogIndex index = new ProjectCatalogIndex(this.sourceRepositoryService, tempDir,
+				Duration.ofHours(1));
+		index.getProjects(this.catalogs);
+		List<CatalogProjects> projects = new ProjectCatalogIndex(this.sourceRepositoryService, tempDir,
+				Duration.ofHours(1))
+			.getProjects(this.catalogs);
+		assertThat(projects).hasSize(3);
+		assertThat(this.sourceRepositoryService.getFetches("https://github.com/example/first")).isEqualTo(1);
+
+		index.refresh(this.catalogs);
+		assertThat(this.sourceRepositoryService.getFetches("https://github.com/example/first")).isEqualTo(2);
+	}
+
+	@Test
+	void staleCatalogsAreRefreshedBeforeReturning(@TempDir Path tempDir) throws IOException {
+		ProjectCatalogIndex index = new ProjectCatalogIndex(this.sourceRepositoryService, tempDir,
+				Duration.ofHours(1));
+		index.getProjects(this.catalogs);
+		FileTime stale = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+		try (Stream<Path> files = Files.list(tempDir)) {
+			for (Path file : files.toList()) {
+				Files.setLastModifiedTime(file, stale);
+			}
+		}
+
+		List<CatalogProjects> projects = index.getProjects(this.catalogs);
+		assertThat(projects).hasSize(3);
+		assertThat(this.sourceRepositoryService.getFetches("https://github.com/example/first")).isEqualTo(2);
+		try (Stream<Path> files = Files.list(tempDir)) {
+			assertThat(files.toList()).hasSize(3)
+				.allSatisfy((file) -> assertThat(Files.getLastModifiedTime(file)).isGreaterThan(stale));
+		}
+	}
+
+	@Test
+	void uncachedIndexAlwaysFetches() {
+		ProjectCatalogIndex index = ProjectCatalogIndex.uncached(this.sourceRepositoryService);
+		index.getProjects(this.catalogs);
+		index.getProjects(this.catalogs);
+		assertThat(this.sourceRepositoryService.getFetches("https://github.com/example/second")).isEqualTo(2);
+	}
+
+	private static ProjectCatalog catalog(String name) {
+		return ProjectCatalog.of(name, name + " catalog", "https://github.com/example/" + name, List.of());
+	}
+
+}
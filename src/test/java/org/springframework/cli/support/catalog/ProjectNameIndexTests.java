@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.support.catalog;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectNameIndexTests {
+
+	private final StubSourceRepositoryService sourceRepositoryService = new StubSourceRepositoryService(
+			(url, fileName) -> {
+				String name = url.substring(url.lastIndexOf('/') + 1);
+				return "project-repositories:\n- name: shared\n  url: https://example.com/" + name
+						+ "-shared\n- name: " + name + "-project\n  url: https://example.com/" + name + "-project\n";
+			});
+
+	@Test
+	void firstCatalogWins(@TempDir Path tempDir) {
+		ProjectNameIndex index = new ProjectNameIndex(ProjectCatalogIndex.uncached(this.sourceRepositoryService),
+				tempDir.resolve("project-names.json"));
+		List<ProjectCatalog> catalogs = List.of(catalog("first"), catalog("second"));
+		assertThat(index.findUrl(catalogs, " Shared ")).isEqualTo("https://example.com/first-shared");
+		assertThat(index.findUrl(catalogs, "second-project")).isEqualTo("https://example.com/second-project");
+		assertThat(this.sourceRepositoryService.getFetches()).isEqualTo(2);
+	}
+
+	@Test
+	void indexIsReusedAndExtendedWithNewCatalogs(@TempDir Path tempDir) {
+		Path indexFile = tempDir.resolve("project-names.json");
+		ProjectCatalogIndex catalogIndex = ProjectCatalogIndex.uncached(this.sourceRepositoryService);
+		new ProjectNameIndex(catalogIndex, indexFile).findUrl(List.of(catalog("first")), "first-project");
+		assertThat(indexFile).exists();
+		assertThat(this.sourceRepositoryService.getFetches()).isEqualTo(1);
+
+		ProjectNameIndex index = new ProjectNameIndex(catalogIndex, indexFile);
+		assertThat(index.findUrl(List.of(catalog("first")), "first-project"))
+			.isEqualTo("https://example.com/first-project");
+		assertThat(this.sourceRepositoryService.getFetches()).isEqualTo(1);
+
+		assertThat(index.findUrl(List.of(catalog("first"), catalog("second")), "second-project"))
+			.isEqualTo("https://example.com/second-project");
+		assertThat(this.sourceRepositoryService.getFetches()).isEqualTo(2);
+	}
+
+	@Test
+	void rebuildRetrievesAllCatalogs(@TempDir Path tempDir) {
+		ProjectCatalogIndex catalogIndex = new ProjectCatalogIndex(this.sourceRepositoryService, tempDir,
+				Duration.ofHours(1));
+		ProjectNameIndex index = new ProjectNameIndex(catalogIndex, tempDir.resolve("project-names.json"));
+		List<ProjectCatalog> catalogs = List.of(catalog("first"), catalog("second"));
+		index.findUrl(catalogs, "first-project");
+		assertThat(this.sourceRepositoryService.getFetches()).isEqualTo(2);
+		assertThat(index.rebuild(catalogs)).isEqualTo(4);
+		assertThat(this.sourceRepositoryService.getFetches()).isEqualTo(4);
+	}
+
+	private static ProjectCatalog catalog(String name) {
+		return ProjectCatalog.of(name, name + " catalog", "https://github.com/example/" + name, List.of());
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.support.catalog;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.springframework.cli.SpringCliException;
+import org.springframework.cli.git.SourceRepositoryService;
+
+/**
+ * {@link SourceRepositoryService} which only retrieves single files, returning contents
+ * created by a function and counting how often each repository is fetched.
+ */
+class StubSourceRepositoryService implements SourceRepositoryService {
+
+	private final BiFunction<String, String, String> contents;
+
+	private final Map<String, AtomicInteger> fetches = new ConcurrentHashMap<>();
+
+	private volatile boolean offline;
+
+	/**
+	 * Create a new stub.
+	 * @param contents creates file contents from a repository url and file name
+	 */
+	StubSourceRepositoryService(BiFunction<String, String, String> contents) {
+		this.contents = contents;
+	}
+
+	@Override
+	public Path retrieveRepositoryContents(String sourceRepoUrl) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String retrieveFileContents(String sourceRepoUrl, String fileName) {
+		if (this.offline) {
+			throw new SpringCliException("offline");
+		}
+		this.fetches.computeIfAbsent(sourceRepoUrl, (url) -> new AtomicInteger()).incrementAndGet();
+		return this.contents.apply(sourceRepoUrl, fileName);
+	}
+
+	/**
+	 * Make later retrievals fail as if the repository host could not be reached.
+	 * @param offline if retrievals should fail
+	 */
+	void setOffline(boolean offline) {
+		this.offline = offline;
+	}
+
+	/**
+	 * @return how often any repository was fetched
+	 */
+	int getFetches() {
+		return this.fetches.values().stream().mapToInt(AtomicInteger::get).sum();
+	}
+
+	/**
+	 * @param sourceRepoUrl the repository url
+	 * @return how often a repository was fetched
+	 */
+	int getFetches(String sourceRepoUrl) {
+		AtomicInteger count = this.fetches.get(sourceRepoUrl);
+		return (count != null) ? count.get() : 0;
+	}
+
+}
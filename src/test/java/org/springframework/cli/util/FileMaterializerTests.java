@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileMaterializerTests {
+
+	@Test
+	void moveOrCopyTransfersAllFiles(@TempDir Path tempDir) throws IOException {
+		Path source = createSource(tempDir.resolve("source"));
+		Path target = tempDir.resolve("target");
+		FileMaterializer.moveOrCopy(source, target);
+		assertThat(target.resolve("pom.xml")).hasContent("pom");
+		assertThat(target.resolve("src").resolve("main").resolve("App.java")).hasContent("app");
+		assertThat(target.resolve("mvnw").toFile().canExecute()).isTrue();
+	}
+
+	@Test
+	void copyKeepsSource(@TempDir Path tempDir) throws IOException {
+		Path source = createSource(tempDir.resolve("source"));
+		Path target = tempDir.resolve("target");
+		FileMaterializer.copy(source, target);
+		assertThat(source.resolve("pom.xml")).hasContent("pom");
+		assertThat(target.resolve("pom.xml")).hasContent("pom");
+		assertThat(target.resolve("src").resolve("main").resolve("App.java")).hasContent("app");
+		assertThat(target.resolve("mvnw").toFile().canExecute()).isTrue();
+	}
+
+	@Test
+	void copyFileReplacesExisting(@TempDir Path tempDir) throws IOException {
+		Path source = Files.writeString(tempDir.resolve("source.txt"), "new");
+		Path dest = Files.writeString(tempDir.resolve("dest.txt"), "old content which is longer");
+		FileMaterializer.copyFile(source, dest);
+		assertThat(dest).hasContent("new");
+	}
+
+	@Test
+	void replaceFileKeepsPermissions(@TempDir Path tempDir) throws IOException {
+		Path mvnw = Files.writeString(tempDir.resolve("mvnw"), "old");
+		mvnw.toFile().setExecutable(true);
+		Path temp = Files.writeString(FileMaterializer.createTempFileFor(mvnw), "new");
+		assertThat(temp.getParent()).isEqualTo(tempDir);
+		FileMaterializer.replaceFile(temp, mvnw);
+		assertThat(mvnw).hasContent("new");
+		assertThat(mvnw.toFile().canExecute()).isTrue();
+		assertThat(temp).doesNotExist();
+	}
+
+	private static Path createSource(Path dir) throws IOException {
+		Files.createDirectories(dir.resolve("src").resolve("main"));
+		Files.writeString(dir.resolve("pom.xml"), "pom");
+		Files.writeString(dir.resolve("src").resolve("main").resolve("App.java"), "app");
+		Path mvnw = Files.writeString(dir.resolve("mvnw"), "#!/bin/sh");
+		mvnw.toFile().setExecutable(true);
+		return dir;
+	}
+
+}
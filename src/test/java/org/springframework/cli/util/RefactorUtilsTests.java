@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RefactorUtilsTests {
+
+	@Test
+	void packageOnlyFilesAreMoved(@TempDir Path tempDir) throws IOException {
+		Path javaDir = tempDir.resolve("src/main/java");
+		write(javaDir.resolve("com/example/demo/Application.java"),
+				"package com.example.demo;\n\npublic class Application {\n}\n");
+		write(javaDir.resolve("com/example/demo/web/Controller.java"),
+				"package com.example.demo.web;\n\npublic class Controller {\n}\n");
+		write(javaDir.resolve("org/other/Other.java"), "package org.other;\n\npublic class Other {\n}\n");
+
+		RefactorUtils.refactorPackage("com.acme.app", "com.example.demo", tempDir);
+
+		assertThat(javaDir.resolve("com/acme/app/Application.java")).content().startsWith("package com.acme.app;");
+		assertThat(javaDir.resolve("com/acme/app/web/Controller.java")).content()
+			.startsWith("package com.acme.app.web;");
+		assertThat(javaDir.resolve("org/other/Other.java")).exists();
+		assertThat(javaDir.resolve("com/example")).doesNotExist();
+	}
+
+	@Test
+	void referencingFilesAreRefactored(@TempDir Path tempDir) throws IOException {
+		Path javaDir = tempDir.resolve("src/main/java");
+		write(javaDir.resolve("com/example/demo/Application.java"),
+				"package com.example.demo;\n\npublic class Application {\n}\n");
+		write(javaDir.resolve("com/example/demo/web/Controller.java"),
+				"package com.example.demo.web;\n\nimport com.example.demo.Application;\n\npublic class Controller {\n\tApplication application;\n}\n");
+
+		RefactorUtils.refactorPackage("com.acme.app", "com.example.demo", tempDir);
+
+		assertThat(javaDir.resolve("com/acme/app/Application.java")).content().startsWith("package com.acme.app;");
+		assertThat(javaDir.resolve("com/acme/app/web/Controller.java")).content()
+			.contains("import com.acme.app.Application;");
+	}
+
+	@Test
+	void latin1FilesAreMovedUnchanged(@TempDir Path tempDir) throws IOException {
+		Path javaDir = tempDir.resolve("src/main/java");
+		String content = "package com.example.demo;\n\n// Grüße\npublic class Application {\n}\n";
+		Path source = javaDir.resolve("com/example/demo/Application.java");
+		Files.createDirectories(source.getParent());
+		Files.writeString(source, content, StandardCharsets.ISO_8859_1);
+
+		RefactorUtils.refactorPackage("com.acme.app", "com.example.demo", tempDir);
+
+		Path moved = javaDir.resolve("com/acme/app/Application.java");
+		assertThat(Files.readAllBytes(moved))
+			.isEqualTo(content.replace("com.example.demo", "com.acme.app").getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	private static void write(Path path, String content) throws IOException {
+		Files.createDirectories(path.getParent());
+		Files.writeString(path, content);
+	}
+
+}
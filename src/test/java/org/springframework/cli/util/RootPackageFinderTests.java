@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RootPackageFinderTests {
+
+	@AfterEach
+	void clearIndex() {
+		RootPackageFinder.clearIndex();
+	}
+
+	@Test
+	void mainSourcesArePreferred(@TempDir Path tempDir) throws IOException {
+		write(tempDir.resolve("src/test/java/com/example/test/TestApplication.java"),
+				"package com.example.test;\n@SpringBootApplication\nclass TestApplication {}\n");
+		write(tempDir.resolve("src/main/java/com/example/demo/DemoApplication.java"),
+				"package com.example.demo;\n@SpringBootApplication\nclass DemoApplication {}\n");
+		write(tempDir.resolve("src/main/java/com/example/demo/Other.java"), "package com.example.demo;\nclass Other {}\n");
+
+		assertThat(RootPackageFinder.findRootPackage(tempDir.toFile())).hasValue("com.example.demo");
+		assertThat(RootPackageFinder.findSpringBootApplicationFile(tempDir.toFile()))
+			.hasValue(tempDir.resolve("src/main/java/com/example/demo/DemoApplication.java").toFile());
+	}
+
+	@Test
+	void movedApplicationIsFoundAgain(@TempDir Path tempDir) throws IOException {
+		Path application = tempDir.resolve("src/main/java/com/example/demo/DemoApplication.java");
+		write(application, "package com.example.demo;\n@SpringBootApplication\nclass DemoApplication {}\n");
+		assertThat(RootPackageFinder.findRootPackage(tempDir.toFile())).hasValue("com.example.demo");
+
+		Files.delete(application);
+		write(tempDir.resolve("src/main/java/com/acme/app/DemoApplication.java"),
+				"package com.acme.app;\n@SpringBootApplication\nclass DemoApplication {}\n");
+		assertThat(RootPackageFinder.findRootPackage(tempDir.toFile())).hasValue("com.acme.app");
+	}
+
+	@Test
+	void applicationInPackageNamedLikeBuildOutput(@TempDir Path tempDir) throws IOException {
+		write(tempDir.resolve("build/classes/com/example/Stale.java"),
+				"package com.example;\n@SpringBootApplication\nclass Stale {}\n");
+		write(tempDir.resolve("src/main/java/com/acme/build/BuildApplication.java"),
+				"package com.acme.build;\n@SpringBootApplication\nclass BuildApplication {}\n");
+		assertThat(RootPackageFinder.findRootPackage(tempDir.toFile())).hasValue("com.acme.build");
+	}
+
+	@Test
+	void noApplication(@TempDir Path tempDir) throws IOException {
+		write(tempDir.resolve("src/main/java/com/example/demo/Other.java"), "package com.example.demo;\nclass Other {}\n");
+		assertThat(RootPackageFinder.findRootPackage(tempDir.toFile())).isEmpty();
+	}
+
+	private static void write(Path path, String content) throws IOException {
+		Files.createDirectories(path.getParent());
+		Files.writeString(path, content);
+	}
+
+}